@@ -28,4 +28,14 @@ interface Actualisable {
      */
     public void actualiser();
 
+    /**
+     * Détermine si l'objet a été modifié depuis sa dernière actualisation. Par
+     * défaut, un objet est toujours considéré modifié.
+     *
+     * @return {@code true} si l'objet doit être actualisé.
+     */
+    public default boolean isModifie() {
+        return true;
+    }
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import com.sun.istack.internal.NotNull;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Un calque est une toile superposée aux autres calques d'un espace. Chaque
+ * calque est actualisé indépendamment des autres, de telle sorte que seul le
+ * calque concerné par une modification soit redessiné. La version d'un calque
+ * comprend la version des dépendances de son rendu, comme le repère de
+ * l'espace, qui sont comparées à celles du dernier dessin.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class Calque extends ToileRedimensionnable {
+
+    /**
+     * Le rendu de ce calque, qui dessine son contenu sur le calque.
+     */
+    private final Consumer<Calque> rendu;
+
+    /**
+     * La version des dépendances du rendu de ce calque.
+     */
+    private final LongSupplier versionDependances;
+
+    /**
+     * Construit un calque dont le rendu et les dépendances sont définis.
+     *
+     * @param rendu le rendu du calque.
+     * @param versionDependances la version des dépendances du rendu, qui ne
+     * fait que croître.
+     */
+    Calque(@NotNull final Consumer<Calque> rendu,
+            @NotNull final LongSupplier versionDependances) {
+        this.rendu = rendu;
+        this.versionDependances = versionDependances;
+    }
+
+    @Override
+    protected long getVersion() {
+        return super.getVersion() + versionDependances.getAsLong();
+    }
+
+    @Override
+    protected void dessiner() {
+        rendu.accept(this);
+    }
+
+}
@@ -18,30 +18,52 @@ package org.graphysica.espace2d;
 
 import org.graphysica.espace2d.forme.OrdreRendu;
 import org.graphysica.espace2d.forme.Grille;
+import org.graphysica.espace2d.forme.Etiquette;
+import org.graphysica.espace2d.forme.EtatGraphique;
 import org.graphysica.espace2d.forme.Forme;
+import org.graphysica.espace2d.forme.NiveauDetail;
+import org.graphysica.espace2d.forme.Point;
 import com.sun.istack.internal.NotNull;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import javafx.animation.PauseTransition;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableSet;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import javafx.scene.transform.Affine;
+import javafx.util.Duration;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.forme.AxeHorizontal;
 import org.graphysica.espace2d.forme.AxeVertical;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.position.PositionReelle;
 import org.graphysica.espace2d.position.PositionVirtuelle;
+import org.graphysica.espace2d.rendu.RasteriseurContenu;
+import org.graphysica.espace2d.rendu.Trace;
 import org.graphysica.util.SetChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,11 +88,30 @@ import org.slf4j.LoggerFactory;
  * les grilles, sont propres à chaque espace. Il est possible de créer des
  * espaces à partir d'un autre espace qui s'actualise à l'ajout et le retrait de
  * formes dans chaque espace effectuant le rendu d'un même ensemble de formes.
+ * <p>
+ * L'espace est composé de calques superposés. Le calque de fond affiche les
+ * formes de repérage et n'est redessiné que lorsque le repère ou les
+ * dimensions de l'espace sont modifiés. Le calque de surbrillance, placé sous
+ * le calque de contenu, affiche la surbrillance des formes survolées et
+ * sélectionnées, de telle sorte qu'elle entoure les formes sans les recouvrir.
+ * Le calque de contenu affiche les formes ajoutées à l'espace, et le calque
+ * d'interaction affiche par-dessus les formes en prévisualisation.
+ * <p>
+ * Lorsque seules quelques formes du calque de contenu sont modifiées, seuls
+ * les rectangles couverts par leurs anciennes et leurs nouvelles limites sont
+ * redessinés. Le calque de contenu est redessiné en entier si le repère ou les
+ * dimensions de l'espace sont modifiés, ou si l'aire à redessiner est trop
+ * grande.
+ * <p>
+ * Le calque de contenu peut optionnellement être tramé sur un fil d'exécution
+ * d'arrière-plan. Les formes sont alors représentées par leurs traces,
+ * construites sur le fil d'exécution de l'application, et l'image terminée
+ * est copiée sur le calque. Si une forme visible n'a pas de trace, le calque
+ * est dessiné directement.
  *
  * @author Marc-Antoine Ouimet
  */
-public final class Espace extends ToileRedimensionnable
-        implements Actualisable {
+public final class Espace extends Pane implements Actualisable {
 
     /**
      * L'utilitaire d'enregistrement de traces d'exécution.
@@ -115,11 +156,184 @@ public final class Espace extends ToileRedimensionnable
      */
     private final AxeHorizontal axeHorizontal = new AxeHorizontal(100);
 
+    /**
+     * Les formes de repérage de l'espace, dessinées sur le calque de fond dans
+     * leur ordre de rendu.
+     */
+    private final Set<Forme> formesRepere = new LinkedHashSet<>();
+
+    /**
+     * Les formes de l'espace regroupées selon leur indice dans l'ordre de
+     * rendu. Les regroupements sont tenus à jour à l'ajout et au retrait des
+     * formes, de telle sorte qu'un rendu parcourt chaque forme une seule fois.
+     */
+    private final List<Set<Forme>> formesParIndice = new ArrayList<>();
+
+    /**
+     * Les formes en surbrillance ou en prévisualisation, dessinées sur le
+     * calque de surbrillance ou sur le calque d'interaction.
+     */
+    private final Set<Forme> formesInteraction = new LinkedHashSet<>();
+
+    /**
+     * L'association des formes de l'espace à leur observation.
+     */
+    private final Map<Forme, ObservationForme> observations = new HashMap<>();
+
+    /**
+     * Le calque de fond de l'espace, qui affiche les formes de repérage.
+     */
+    private final Calque calqueFond = new Calque(this::dessinerFond,
+            repere::getVersion);
+
+    /**
+     * Le calque de surbrillance de l'espace, situé sous le calque de contenu,
+     * qui affiche la surbrillance des formes survolées et sélectionnées.
+     */
+    private final Calque calqueSurbrillance
+            = new Calque(this::dessinerSurbrillance, repere::getVersion);
+
+    /**
+     * Le calque de contenu de l'espace, qui affiche les formes de l'espace
+     * autres que les formes de repérage.
+     */
+    private final Calque calqueContenu = new Calque(this::dessinerContenu,
+            repere::getVersion);
+
+    /**
+     * Le calque d'interaction de l'espace, superposé aux autres calques.
+     */
+    private final Calque calqueInteraction
+            = new Calque(this::dessinerInteraction, repere::getVersion);
+
     /**
      * Le facteur de zoom utilisé pour zoomer la toile.
      */
     private static final double FACTEUR_ZOOM = 1.1;
 
+    /**
+     * La fraction de l'aire du calque de contenu au-delà de laquelle le calque
+     * est redessiné en entier plutôt que partiellement.
+     */
+    private static final double SEUIL_REDESSIN_COMPLET = 0.5;
+
+    /**
+     * La zone invalidée du calque de contenu depuis son dernier dessin.
+     */
+    private final ZoneInvalidee zoneInvalidee
+            = new ZoneInvalidee(SEUIL_REDESSIN_COMPLET);
+
+    /**
+     * Les formes du calque de contenu modifiées depuis le dernier dessin du
+     * calque.
+     */
+    private final Set<Forme> formesModifiees = new HashSet<>();
+
+    /**
+     * Les limites virtuelles des formes du calque de contenu lors de leur
+     * dernier dessin.
+     */
+    private final Map<Forme, Rectangle2D> limitesContenu = new HashMap<>();
+
+    /**
+     * La taille des cellules de la grille d'occupation des étiquettes,
+     * exprimée en pixels.
+     */
+    private static final double TAILLE_CELLULE_OCCUPATION = 32;
+
+    /**
+     * Les étiquettes de l'espace dans leur ordre d'ajout.
+     */
+    private final Set<Etiquette> etiquettes = new LinkedHashSet<>();
+
+    /**
+     * Les étiquettes masquées lors du dernier dessin du calque de contenu
+     * parce qu'elles chevauchent une étiquette prioritaire.
+     */
+    private final Set<Forme> etiquettesMasquees = new HashSet<>();
+
+    /**
+     * La grille d'occupation des étiquettes du calque de contenu.
+     */
+    private final GrilleOccupation grilleOccupation
+            = new GrilleOccupation(TAILLE_CELLULE_OCCUPATION);
+
+    /**
+     * Le niveau de détail actuel du calque de contenu.
+     */
+    private NiveauDetail niveauDetailContenu = NiveauDetail.COMPLET;
+
+    /**
+     * Le nombre de formes à dessiner au-delà duquel le calque de contenu est
+     * redessiné progressivement sur plusieurs impulsions graphiques.
+     */
+    private static final int SEUIL_RENDU_PROGRESSIF = 5000;
+
+    /**
+     * Le nombre maximal de lots d'état parcourus à rebours pour regrouper une
+     * forme avec les formes de même état graphique qui la précèdent.
+     */
+    private static final int PROFONDEUR_REGROUPEMENT = 16;
+
+    /**
+     * La durée maximale de dessin du calque de contenu par impulsion
+     * graphique lors d'un rendu progressif, exprimée en nanosecondes.
+     */
+    private static final long BUDGET_RENDU_PROGRESSIF = 8_000_000;
+
+    /**
+     * Le rendu progressif en cours du calque de contenu, ou {@code null} si
+     * aucun rendu progressif n'est en cours.
+     */
+    private RenduProgressif renduProgressif;
+
+    /**
+     * Si le calque de contenu est tramé sur un fil d'exécution
+     * d'arrière-plan.
+     */
+    private final BooleanProperty rasterisationAsynchrone
+            = new SimpleBooleanProperty(false);
+
+    /**
+     * Le rastériseur du calque de contenu, ou {@code null} si la rastérisation
+     * asynchrone est désactivée.
+     */
+    private RasteriseurContenu rasteriseur;
+
+    /**
+     * Le délai d'inactivité après lequel un geste de défilement ou de zoom est
+     * considéré terminé.
+     */
+    private static final Duration DELAI_FIN_GESTE = Duration.millis(150);
+
+    /**
+     * Si un geste de défilement ou de zoom est en cours. Pendant un geste,
+     * l'image du calque de contenu est transformée plutôt que redessinée.
+     */
+    private boolean enGeste = false;
+
+    /**
+     * L'origine virtuelle du repère au début du geste en cours.
+     */
+    private Vector2D origineGeste;
+
+    /**
+     * L'échelle du repère au début du geste en cours.
+     */
+    private Vector2D echelleGeste;
+
+    /**
+     * La transformation appliquée à l'image du calque de contenu pendant un
+     * geste.
+     */
+    private final Affine transformationGeste = new Affine();
+
+    /**
+     * La temporisation de fin de geste, redémarrée à chaque étape d'un geste.
+     */
+    private final PauseTransition finGeste
+            = new PauseTransition(DELAI_FIN_GESTE);
+
     /**
      * La position précédente du curseur.
      */
@@ -138,10 +352,48 @@ public final class Espace extends ToileRedimensionnable
             = new SimpleObjectProperty<>(new PositionReelle(Vector2D.ZERO));
 
     {
-        repere.echelleProperty().addListener(evenementActualisation);
-        repere.origineVirtuelleProperty().addListener(evenementActualisation);
+        for (int i = 0; i < ordreRendu.size(); i++) {
+            formesParIndice.add(new LinkedHashSet<>());
+        }
+        for (final Calque calque : calques()) {
+            calque.widthProperty().bind(widthProperty());
+            calque.heightProperty().bind(heightProperty());
+            repere.versionProperty().addListener((observable) -> {
+                calque.demanderActualisation();
+            });
+            getChildren().add(calque);
+        }
+        final InvalidationListener invalidationContenu = (observable) -> {
+            zoneInvalidee.invaliderTout();
+        };
+        repere.versionProperty().addListener(invalidationContenu);
+        final ChangeListener<Number> redimensionnementContenu
+                = (observable, ancienne, nouvelle) -> {
+                    zoneInvalidee.invaliderTout();
+                };
+        calqueContenu.widthProperty().addListener(redimensionnementContenu);
+        calqueContenu.heightProperty().addListener(redimensionnementContenu);
+        finGeste.setOnFinished((evenement) -> {
+            terminerGeste();
+        });
+        rasterisationAsynchrone.addListener((observable, ancienne, nouvelle)
+                -> {
+            if (rasteriseur != null) {
+                rasteriseur.arreter();
+                rasteriseur = null;
+            }
+            if (nouvelle) {
+                rasteriseur = new RasteriseurContenu(this::publierContenu);
+            }
+            zoneInvalidee.invaliderTout();
+            calqueContenu.modifier();
+        });
+        formesRepere.add(grilleSecondaire);
+        formesRepere.add(grillePrincipale);
+        formesRepere.add(axeVertical);
+        formesRepere.add(axeHorizontal);
         formes.addListener(new FormesListener());
-        formes.addListener(evenementActualisation);
+        formes.addListener(calqueContenu.evenementActualisation);
         positionVirtuelleCurseur.addListener(new InvalidationListener() {
             @Override
             public void invalidated(Observable observable) {
@@ -202,50 +454,568 @@ public final class Espace extends ToileRedimensionnable
     }
 
     /**
-     * Actualise l'affichage de cette toile en redessinant chacune de ses
-     * formes. Si la classe d'une forme ne fait pas partie des définitions de
-     * l'ordre de rendu, elle n'est pas dessinée.
+     * Récupère les calques de l'espace, du calque inférieur au calque
+     * supérieur.
+     *
+     * @return les calques de l'espace.
+     */
+    private Calque[] calques() {
+        return new Calque[]{calqueFond, calqueSurbrillance, calqueContenu,
+            calqueInteraction};
+    }
+
+    /**
+     * Actualise l'affichage de cet espace en redessinant immédiatement chacun
+     * de ses calques. Si la classe d'une forme ne fait pas partie des
+     * définitions de l'ordre de rendu, elle n'est pas dessinée et un
+     * avertissement est enregistré lors de son ajout à l'espace.
+     * <p>
+     * Les modifications des propriétés des formes et du repère passent plutôt
+     * par les planificateurs des calques, qui regroupent les demandes en une
+     * seule actualisation par impulsion graphique pour chaque calque concerné
+     * et n'actualisent que les calques dont la version a changé.
      *
      * @see Espace#ordreRendu
      * @see OrdreRendu
      */
     @Override
     public void actualiser() {
-        effacerAffichage();
-        dessinerFormes(formes);
+        zoneInvalidee.invaliderTout();
+        for (final Calque calque : calques()) {
+            calque.actualiser();
+        }
+    }
+
+    /**
+     * Demande l'actualisation de chacun des calques de l'espace à la prochaine
+     * impulsion graphique. Seuls les calques modifiés depuis leur dernier
+     * dessin sont redessinés.
+     */
+    public void demanderActualisation() {
+        for (final Calque calque : calques()) {
+            calque.demanderActualisation();
+        }
     }
 
     /**
-     * Dessine une collection de formes sur l'espace.
+     * Dessine les formes de repérage de l'espace sur le calque de fond.
      *
-     * @param formes la collection des formes à dessiner.
+     * @param calque le calque de fond.
      */
-    private void dessinerFormes(@NotNull final Collection<Forme> formes) {
-        int formesAffichables = 0;
-        for (final Class classe : ordreRendu) {
-            for (final Forme forme : formes) {
-                if (classe.isInstance(forme)) {
-                    formesAffichables++;
-                    if (forme.isAffiche()) {
-                        forme.dessiner(this, repere);
+    private void dessinerFond(@NotNull final Calque calque) {
+        final EtatGraphique etat = EtatGraphique.de(calque);
+        etat.commencerImage();
+        etat.definirRemplissage(Color.WHITE);
+        calque.getGraphicsContext2D().fillRect(0, 0, calque.getWidth(),
+                calque.getHeight());
+        for (final Forme forme : formesRepere) {
+            if (forme.isAffiche()) {
+                forme.dessiner(calque, repere);
+            }
+        }
+    }
+
+    /**
+     * Dessine les formes de l'espace autres que les formes de repérage sur le
+     * calque de contenu. Les anciennes et les nouvelles limites des formes
+     * modifiées depuis le dernier dessin forment la zone à redessiner. Le
+     * calque est redessiné en entier si cette zone est complète. Un rendu
+     * progressif en cours est poursuivi avant que les formes modifiées ne
+     * soient redessinées, et recommencé si la zone est complète. Le niveau de
+     * détail du calque est déterminé selon la densité de formes de l'espace,
+     * et le calque est redessiné en entier lorsque ce niveau change. Lorsque
+     * le calque est tramé en arrière-plan, toute modification provoque un
+     * nouveau rendu complet.
+     *
+     * @param calque le calque de contenu.
+     */
+    private void dessinerContenu(@NotNull final Calque calque) {
+        EtatGraphique.de(calque).commencerImage();
+        if (enGeste) {
+            transformerImageContenu();
+            return;
+        }
+        final NiveauDetail niveauDetail = NiveauDetail.selon(formes.size(),
+                calque.getWidth() * calque.getHeight());
+        if (niveauDetail != niveauDetailContenu) {
+            niveauDetailContenu = niveauDetail;
+            niveauDetail.appliquer(calque);
+            zoneInvalidee.invaliderTout();
+        }
+        desencombrerEtiquettes(calque, niveauDetail.isEtiquettesAffichees());
+        if (renduProgressif != null && !zoneInvalidee.isComplete(
+                calque.getWidth(), calque.getHeight())) {
+            if (!renduProgressif.poursuivre()) {
+                calque.modifier();
+                return;
+            }
+            renduProgressif = null;
+        }
+        for (final Forme forme : formesModifiees) {
+            if (zoneInvalidee.isComplete(calque.getWidth(),
+                    calque.getHeight())) {
+                break;
+            }
+            final Rectangle2D anciennesLimites = limitesContenu.remove(forme);
+            if (anciennesLimites != null) {
+                zoneInvalidee.invalider(anciennesLimites);
+            }
+            if (isDessineeSurContenu(forme)) {
+                final Rectangle2D limites = forme.limites(calque, repere);
+                limitesContenu.put(forme, limites);
+                zoneInvalidee.invalider(limites);
+            }
+        }
+        formesModifiees.clear();
+        if (zoneInvalidee.isComplete(calque.getWidth(), calque.getHeight())
+                || rasteriseur != null && !zoneInvalidee.isVide()) {
+            dessinerContenuComplet(calque);
+        } else if (!zoneInvalidee.isVide()) {
+            dessinerContenuPartiel(calque);
+        }
+        zoneInvalidee.reinitialiser();
+    }
+
+    /**
+     * Commence ou prolonge un geste de défilement ou de zoom. Au début d'un
+     * geste, l'état du repère est mémorisé et l'image actuelle du calque de
+     * contenu est conservée. Le geste se termine lorsqu'il n'est pas prolongé
+     * pendant {@code DELAI_FIN_GESTE}.
+     */
+    private void commencerGeste() {
+        if (!enGeste) {
+            enGeste = true;
+            origineGeste = repere.getOrigineVirtuelle();
+            echelleGeste = repere.getEchelle();
+            transformationGeste.setToIdentity();
+            calqueContenu.getTransforms().add(transformationGeste);
+        }
+        finGeste.playFromStart();
+    }
+
+    /**
+     * Termine le geste en cours. La transformation de l'image du calque de
+     * contenu est retirée et le calque est redessiné en entier.
+     */
+    private void terminerGeste() {
+        enGeste = false;
+        calqueContenu.getTransforms().remove(transformationGeste);
+        zoneInvalidee.invaliderTout();
+        calqueContenu.modifier();
+    }
+
+    /**
+     * Transforme l'image du calque de contenu dessinée au début du geste en
+     * cours de telle sorte qu'elle reflète l'état actuel du repère. Une
+     * position virtuelle {@code p} au début du geste correspond à la position
+     * {@code (p - o0) * e / e0 + o}, où {@code o0} et {@code e0} sont
+     * l'origine et l'échelle au début du geste, et {@code o} et {@code e}
+     * l'origine et l'échelle actuelles.
+     */
+    private void transformerImageContenu() {
+        final Vector2D origine = repere.getOrigineVirtuelle();
+        final Vector2D echelle = repere.getEchelle();
+        final double facteurX = echelle.getX() / echelleGeste.getX();
+        final double facteurY = echelle.getY() / echelleGeste.getY();
+        transformationGeste.setToTransform(
+                facteurX, 0, origine.getX() - origineGeste.getX() * facteurX,
+                0, facteurY, origine.getY() - origineGeste.getY() * facteurY);
+    }
+
+    /**
+     * Détermine les étiquettes masquées du calque de contenu. Seules les
+     * étiquettes affichées, hors prévisualisation, dont les limites
+     * intersectent le calque sont considérées. Leurs limites sont réservées
+     * dans la grille d'occupation, d'abord celles des étiquettes en
+     * surbrillance puis les autres, chaque groupe en ordre croissant de numéro
+     * d'identification des formes. La priorité ne dépend donc pas de l'ordre
+     * d'ajout des étiquettes à l'espace. Une étiquette qui chevauche une
+     * étiquette déjà réservée est masquée. Les étiquettes dont l'état de
+     * masquage change sont marquées comme modifiées pour que leurs limites
+     * soient redessinées.
+     *
+     * @param calque le calque de contenu.
+     * @param etiquettesAffichees si le niveau de détail du calque permet
+     * l'affichage des étiquettes.
+     */
+    private void desencombrerEtiquettes(@NotNull final Calque calque,
+            final boolean etiquettesAffichees) {
+        final Set<Forme> masquees = new HashSet<>();
+        if (etiquettesAffichees) {
+            grilleOccupation.reinitialiser(calque.getWidth(),
+                    calque.getHeight());
+            final Rectangle2D affichage = new Rectangle2D(0, 0,
+                    calque.getWidth(), calque.getHeight());
+            final List<Map.Entry<Etiquette, Rectangle2D>> candidates
+                    = new ArrayList<>();
+            for (final Etiquette etiquette : etiquettes) {
+                if (etiquette.isAffiche()
+                        && !etiquette.isEnPrevisualisation()) {
+                    final Rectangle2D limites = etiquette.limites(calque,
+                            repere);
+                    if (limites.intersects(affichage)) {
+                        candidates.add(new AbstractMap.SimpleEntry<>(
+                                etiquette, limites));
                     }
                 }
             }
+            candidates.sort(Comparator.comparing(
+                    (Map.Entry<Etiquette, Rectangle2D> entree)
+                    -> !entree.getKey().isEnSurvol())
+                    .thenComparingLong((entree) -> entree.getKey().getId()));
+            for (final Map.Entry<Etiquette, Rectangle2D> entree : candidates) {
+                if (!grilleOccupation.reserver(entree.getValue())) {
+                    masquees.add(entree.getKey());
+                }
+            }
+        }
+        for (final Forme etiquette : etiquettesMasquees) {
+            if (!masquees.contains(etiquette)) {
+                formesModifiees.add(etiquette);
+            }
+        }
+        for (final Forme etiquette : masquees) {
+            if (!etiquettesMasquees.contains(etiquette)) {
+                formesModifiees.add(etiquette);
+            }
+        }
+        etiquettesMasquees.clear();
+        etiquettesMasquees.addAll(masquees);
+    }
+
+    /**
+     * Redessine l'ensemble du calque de contenu. Les formes dont les limites
+     * n'intersectent pas la zone d'affichage du calque ne sont pas dessinées.
+     * Si la rastérisation asynchrone est activée, les traces des formes sont
+     * soumises au rastériseur. Sinon, si le nombre de formes à dessiner
+     * dépasse {@code SEUIL_RENDU_PROGRESSIF}, un rendu progressif est
+     * commencé.
+     *
+     * @param calque le calque de contenu.
+     */
+    private void dessinerContenuComplet(@NotNull final Calque calque) {
+        limitesContenu.clear();
+        renduProgressif = null;
+        niveauDetailContenu.appliquer(calque);
+        final List<Forme> formesContenu = new ArrayList<>();
+        for (final Set<Forme> formesIndice : formesParIndice) {
+            final int debut = formesContenu.size();
+            for (final Forme forme : formesIndice) {
+                if (isDessineeSurContenu(forme)) {
+                    formesContenu.add(forme);
+                    limitesContenu.put(forme, forme.limites(calque, repere));
+                }
+            }
+            ordonnerParEtat(formesContenu.subList(debut,
+                    formesContenu.size()));
         }
-        if (formesAffichables != formes.size()) {
-            LOGGER.warn(String.format("Des classes de formes ne sont pas "
-                    + "comprises dans l'ordre de rendu de la toile. "
-                    + "%d formes sur %d sont affichables.", formesAffichables,
-                    formes.size()));
+        if (rasteriseur != null && soumettreContenu(calque, formesContenu)) {
+            return;
         }
+        effacerAffichage(calque);
+        if (formesContenu.size() > SEUIL_RENDU_PROGRESSIF) {
+            renduProgressif = new RenduProgressif(formesContenu);
+            if (!renduProgressif.poursuivre()) {
+                calque.modifier();
+            } else {
+                renduProgressif = null;
+            }
+            return;
+        }
+        final Rectangle2D affichage = new Rectangle2D(0, 0, calque.getWidth(),
+                calque.getHeight());
+        for (final Forme forme : formesContenu) {
+            if (limitesContenu.get(forme).intersects(affichage)) {
+                forme.dessiner(calque, repere);
+            }
+        }
+    }
+
+    /**
+     * Soumet les traces des formes visibles du calque de contenu au
+     * rastériseur. Le calque conserve son image actuelle jusqu'à la
+     * publication de la nouvelle image. Si une forme visible n'a pas de trace,
+     * les demandes de rendu soumises sont annulées pour que le calque soit
+     * dessiné directement.
+     *
+     * @param calque le calque de contenu.
+     * @param formesContenu les formes du calque dans leur ordre de rendu.
+     * @return {@code true} si les traces ont été soumises.
+     */
+    private boolean soumettreContenu(@NotNull final Calque calque,
+            @NotNull final List<Forme> formesContenu) {
+        final int largeur = (int) Math.ceil(calque.getWidth());
+        final int hauteur = (int) Math.ceil(calque.getHeight());
+        if (largeur <= 0 || hauteur <= 0) {
+            rasteriseur.annuler();
+            return false;
+        }
+        final Rectangle2D affichage = new Rectangle2D(0, 0, calque.getWidth(),
+                calque.getHeight());
+        final List<Trace> traces = new ArrayList<>(formesContenu.size());
+        for (final Forme forme : formesContenu) {
+            if (limitesContenu.get(forme).intersects(affichage)) {
+                final Trace trace = forme.trace(calque, repere);
+                if (trace == null) {
+                    rasteriseur.annuler();
+                    return false;
+                }
+                traces.add(trace);
+            }
+        }
+        rasteriseur.soumettre(traces, largeur, hauteur);
+        return true;
     }
 
     /**
-     * Réinitialise l'image rendue par cette toile.
+     * Copie sur le calque de contenu l'image publiée par le rastériseur. Une
+     * image périmée, ou publiée pendant un geste, est ignorée.
+     *
+     * @param generation la génération de l'image publiée.
      */
-    private void effacerAffichage() {
-        getGraphicsContext2D().setFill(Color.WHITE);
-        getGraphicsContext2D().fillRect(0, 0, getWidth(), getHeight());
+    private void publierContenu(final long generation) {
+        if (rasteriseur == null || enGeste
+                || generation != rasteriseur.getGeneration()) {
+            return;
+        }
+        final Image image = rasteriseur.image();
+        if (image != null) {
+            effacerAffichage(calqueContenu);
+            calqueContenu.getGraphicsContext2D().drawImage(image, 0, 0);
+        }
+    }
+
+    /**
+     * Redessine les rectangles de la zone invalidée du calque de contenu. Le
+     * contexte graphique est restreint à ces rectangles, et seules les formes
+     * dont les dernières limites intersectent la zone sont redessinées.
+     *
+     * @param calque le calque de contenu.
+     */
+    private void dessinerContenuPartiel(@NotNull final Calque calque) {
+        final GraphicsContext contexteGraphique = calque
+                .getGraphicsContext2D();
+        final Rectangle2D affichage = new Rectangle2D(0, 0, calque.getWidth(),
+                calque.getHeight());
+        contexteGraphique.save();
+        contexteGraphique.beginPath();
+        for (final Rectangle2D rectangle : zoneInvalidee.getRectangles()) {
+            contexteGraphique.rect(rectangle.getMinX(), rectangle.getMinY(),
+                    rectangle.getWidth(), rectangle.getHeight());
+            contexteGraphique.clearRect(rectangle.getMinX(),
+                    rectangle.getMinY(), rectangle.getWidth(),
+                    rectangle.getHeight());
+        }
+        contexteGraphique.clip();
+        final List<Forme> formesADessiner = new ArrayList<>();
+        for (final Set<Forme> formesIndice : formesParIndice) {
+            formesADessiner.clear();
+            for (final Forme forme : formesIndice) {
+                final Rectangle2D limites = limitesContenu.get(forme);
+                if (limites != null && limites.intersects(affichage)
+                        && zoneInvalidee.intersecte(limites)) {
+                    formesADessiner.add(forme);
+                }
+            }
+            ordonnerParEtat(formesADessiner);
+            for (final Forme forme : formesADessiner) {
+                forme.dessiner(calque, repere);
+            }
+        }
+        contexteGraphique.restore();
+    }
+
+    /**
+     * Regroupe des formes d'un même indice de rendu selon leur état
+     * graphique, de telle sorte que les formes de même couleur et de même
+     * épaisseur de trait soient dessinées successivement sans changement
+     * d'état du contexte graphique.
+     * <p>
+     * Les formes sont parcourues dans leur ordre d'ajout et réparties en lots
+     * de même état. Une forme rejoint le lot de même état le plus proche qui
+     * la précède seulement si ses limites n'intersectent celles d'aucun lot
+     * qu'elle devancerait. L'ordre relatif des formes qui se chevauchent est
+     * ainsi conservé, de telle sorte que le regroupement ne modifie ni
+     * l'image rendue ni la forme sélectionnée au survol. Les limites des
+     * formes doivent être connues.
+     *
+     * @param formesIndice les formes à regrouper, dans leur ordre d'ajout.
+     * @see EtatGraphique#ORDRE_ETAT
+     */
+    private void ordonnerParEtat(@NotNull final List<Forme> formesIndice) {
+        if (formesIndice.size() < 2) {
+            return;
+        }
+        final List<LotEtat> lots = new ArrayList<>();
+        for (final Forme forme : formesIndice) {
+            final Rectangle2D limites = limitesContenu.get(forme);
+            LotEtat lot = null;
+            for (int i = lots.size() - 1; i >= 0
+                    && i >= lots.size() - PROFONDEUR_REGROUPEMENT; i--) {
+                final LotEtat candidat = lots.get(i);
+                if (candidat.isMemeEtat(forme)) {
+                    lot = candidat;
+                    break;
+                }
+                if (limites == null || candidat.intersecte(limites)) {
+                    break;
+                }
+            }
+            if (lot == null) {
+                lot = new LotEtat();
+                lots.add(lot);
+            }
+            lot.ajouter(forme, limites);
+        }
+        int i = 0;
+        for (final LotEtat lot : lots) {
+            for (final Forme forme : lot.formes) {
+                formesIndice.set(i++, forme);
+            }
+        }
+    }
+
+    /**
+     * Détermine si une forme est dessinée sur le calque de contenu.
+     *
+     * @param forme la forme à tester.
+     * @return {@code true} si la forme fait partie de l'espace, est affichée,
+     * n'est pas en prévisualisation, n'est pas une forme de repérage et n'est
+     * pas une étiquette masquée.
+     */
+    private boolean isDessineeSurContenu(@NotNull final Forme forme) {
+        return formes.contains(forme) && forme.isAffiche()
+                && !forme.isEnPrevisualisation()
+                && !formesRepere.contains(forme)
+                && !etiquettesMasquees.contains(forme);
+    }
+
+    /**
+     * Dessine la surbrillance des formes survolées ou sélectionnées sur le
+     * calque de surbrillance. Le calque étant situé sous le calque de contenu,
+     * la surbrillance ne recouvre pas la forme qu'elle entoure. Seules les
+     * formes d'interaction sont parcourues.
+     *
+     * @param calque le calque de surbrillance.
+     */
+    private void dessinerSurbrillance(@NotNull final Calque calque) {
+        EtatGraphique.de(calque).commencerImage();
+        effacerAffichage(calque);
+        for (final Forme forme : formesInteractionOrdonnees()) {
+            if (forme.isAffiche() && forme.isEnSurvol()) {
+                forme.dessinerSurvol(calque, repere);
+            }
+        }
+    }
+
+    /**
+     * Dessine les formes en prévisualisation sur le calque d'interaction.
+     * Seules les formes d'interaction sont parcourues.
+     *
+     * @param calque le calque d'interaction.
+     */
+    private void dessinerInteraction(@NotNull final Calque calque) {
+        EtatGraphique.de(calque).commencerImage();
+        effacerAffichage(calque);
+        for (final Forme forme : formesInteractionOrdonnees()) {
+            if (forme.isAffiche() && forme.isEnPrevisualisation()) {
+                forme.dessiner(calque, repere);
+            }
+        }
+    }
+
+    /**
+     * Récupère les formes d'interaction selon leur ordre de rendu.
+     *
+     * @return les formes d'interaction ordonnées.
+     */
+    private List<Forme> formesInteractionOrdonnees() {
+        final List<Forme> formesOrdonnees = new ArrayList<>(formesInteraction);
+        formesOrdonnees.sort(Comparator.comparingInt(ordreRendu::indice));
+        return formesOrdonnees;
+    }
+
+    /**
+     * Réinitialise l'image rendue par une toile en la rendant transparente.
+     *
+     * @param toile la toile à effacer.
+     */
+    private static void effacerAffichage(@NotNull final Canvas toile) {
+        toile.getGraphicsContext2D().clearRect(0, 0, toile.getWidth(),
+                toile.getHeight());
+    }
+
+    /**
+     * Récupère le nombre d'images évitées parmi les calques de l'espace parce
+     * qu'aucun calque concerné n'avait été modifié depuis son dernier dessin.
+     *
+     * @return le nombre d'images évitées.
+     */
+    public long getImagesEvitees() {
+        long imagesEvitees = 0;
+        for (final Calque calque : calques()) {
+            imagesEvitees += calque.getImagesEvitees();
+        }
+        return imagesEvitees;
+    }
+
+    /**
+     * Récupère le nombre de changements d'état des contextes graphiques
+     * effectués lors de la dernière image de chacun des calques de l'espace.
+     *
+     * @return le nombre de changements d'état effectués.
+     */
+    public long getChangementsEtat() {
+        long changementsEtat = 0;
+        for (final Calque calque : calques()) {
+            changementsEtat += EtatGraphique.de(calque)
+                    .getChangementsEffectues();
+        }
+        return changementsEtat;
+    }
+
+    /**
+     * Récupère le nombre de changements d'état des contextes graphiques
+     * évités lors de la dernière image de chacun des calques de l'espace
+     * parce que l'état demandé était déjà défini.
+     *
+     * @return le nombre de changements d'état évités.
+     */
+    public long getChangementsEtatEvites() {
+        long changementsEvites = 0;
+        for (final Calque calque : calques()) {
+            changementsEvites += EtatGraphique.de(calque)
+                    .getChangementsEvites();
+        }
+        return changementsEvites;
+    }
+
+    /**
+     * Récupère le nombre d'images demandées par les invalidations parmi les
+     * calques de l'espace.
+     *
+     * @return le nombre d'images demandées.
+     */
+    public long getImagesDemandees() {
+        long imagesDemandees = 0;
+        for (final Calque calque : calques()) {
+            imagesDemandees += calque.getImagesDemandees();
+        }
+        return imagesDemandees;
+    }
+
+    /**
+     * Récupère le nombre d'images effectivement rendues parmi les calques de
+     * l'espace suite à des demandes d'actualisation.
+     *
+     * @return le nombre d'images rendues.
+     */
+    public long getImagesRendues() {
+        long imagesRendues = 0;
+        for (final Calque calque : calques()) {
+            imagesRendues += calque.getImagesRendues();
+        }
+        return imagesRendues;
     }
 
     /**
@@ -263,15 +1033,17 @@ public final class Espace extends ToileRedimensionnable
     public LinkedHashSet<Forme> formesSurvolees() {
         // Ajouter les formes dans l'ordre inverse
         final List<Forme> formesSurvolees = new ArrayList<>();
-        final Map<Forme, Double> distances = distancesFormes();
-        ordreRendu.stream().map((classe) -> {
-            // Retenir les formes de la classe
+        formesParIndice.stream().map((formesIndice) -> {
+            // Retenir les formes survolées de l'indice de rendu
             final List<Map.Entry<Forme, Double>> formesRetenues
                     = new ArrayList<>();
-            distances.entrySet().stream().filter((
-                    entree) -> (classe.isInstance(entree.getKey())))
-                    .forEach((entree) -> {
-                        formesRetenues.add(entree);
+            formesIndice.stream().filter((forme) -> (forme.isSelectionne(
+                    getPositionVirtuelleCurseur(), repere)))
+                    .forEach((forme) -> {
+                        formesRetenues.add(new AbstractMap.SimpleEntry<>(
+                                forme, forme.distance(
+                                        getPositionVirtuelleCurseur(),
+                                        repere)));
                     });
             return formesRetenues;
         }).map((formesRetenues) -> {
@@ -288,24 +1060,6 @@ public final class Espace extends ToileRedimensionnable
         return new LinkedHashSet<>(formesSurvolees);
     }
 
-    /**
-     * Récupère les distances entre la position actuelle du curseur et les
-     * formes sélectionnées.
-     *
-     * @return l'association des distances aux formes.
-     */
-    private Map<Forme, Double> distancesFormes() {
-        final LinkedHashSet<Forme> formesDistantes
-                = new LinkedHashSet<>(formes);
-        final Map<Forme, Double> distances = new HashMap<>();
-        formesDistantes.stream().filter((forme) -> (forme.isSelectionne(
-                getPositionVirtuelleCurseur(), repere))).forEach((forme) -> {
-            distances.put(forme, forme.distance(
-                    getPositionVirtuelleCurseur(), repere));
-        });
-        return distances;
-    }
-
     /**
      * Zoome l'espace de la toile vers la position définie du curseur. Un zoom a
      * lieu si le défilement vertical est positif, un dézoom a lieu si le
@@ -358,31 +1112,35 @@ public final class Espace extends ToileRedimensionnable
      * Zoome l'espace vers une position cible selon un facteur de zoom. Le
      * facteur de zoom correspond au pourcentage d'agrandissement de l'espace,
      * de telle sorte qu'un facteur plus grand que 1 correspond à un zoom et un
-     * facteur entre 0 et 1 exclusivement correspond à un dézoom.
+     * facteur entre 0 et 1 exclusivement correspond à un dézoom. Le zoom fait
+     * partie d'un geste, pendant lequel le calque de contenu n'est pas
+     * redessiné.
      *
      * @param cible la position cible du zoom.
      * @param facteurZoom le facteur de zoom.
      */
     private void zoomer(@NotNull final Position cible,
             final double facteurZoom) {
-        final Vector2D translationOrigine = cible.virtuelle(repere)
+        commencerGeste();
+        final Vector2D cibleVirtuelle = cible.virtuelle(repere);
+        final Vector2D translationOrigine = cibleVirtuelle
                 .subtract(repere.getOrigineVirtuelle());
-        repere.setOrigineVirtuelle(
-                repere.getOrigineVirtuelle().add(translationOrigine));
-        repere.setEchelle(repere.getEchelle().scalarMultiply(facteurZoom));
-        final Vector2D nouvelleOrigine = repere.getOrigineVirtuelle()
+        final Vector2D nouvelleOrigine = cibleVirtuelle
                 .subtract(translationOrigine.scalarMultiply(facteurZoom));
-        repere.setOrigineVirtuelle(
-                new Vector2D((int) nouvelleOrigine.getX(),
-                        (int) nouvelleOrigine.getY()));
+        repere.definir(new Vector2D((int) nouvelleOrigine.getX(),
+                (int) nouvelleOrigine.getY()),
+                repere.getEchelle().scalarMultiply(facteurZoom));
     }
 
     /**
-     * Défile l'espace selon un défilement virtuel spécifié.
+     * Défile l'espace selon un défilement virtuel spécifié. Le défilement fait
+     * partie d'un geste, pendant lequel le calque de contenu n'est pas
+     * redessiné.
      *
      * @param defilement le défilement de l'espace, exprimé en pixels.
      */
     public void defiler(@NotNull final Vector2D defilement) {
+        commencerGeste();
         repere.setOrigineVirtuelle(repere.getOrigineVirtuelle()
                 .add(defilement));
     }
@@ -432,6 +1190,26 @@ public final class Espace extends ToileRedimensionnable
         return formes;
     }
 
+    /**
+     * Récupère la propriété de rastérisation asynchrone du calque de contenu.
+     * Lorsqu'elle est activée, le calque de contenu est tramé sur un fil
+     * d'exécution d'arrière-plan.
+     *
+     * @return la propriété de rastérisation asynchrone.
+     */
+    public BooleanProperty rasterisationAsynchroneProperty() {
+        return rasterisationAsynchrone;
+    }
+
+    public boolean isRasterisationAsynchrone() {
+        return rasterisationAsynchrone.getValue();
+    }
+
+    public void setRasterisationAsynchrone(
+            final boolean rasterisationAsynchrone) {
+        this.rasterisationAsynchrone.setValue(rasterisationAsynchrone);
+    }
+
     private Position getPositionPrecedenteCurseur() {
         return positionPrecendenteCurseur;
     }
@@ -500,26 +1278,407 @@ public final class Espace extends ToileRedimensionnable
                 .subtract(getPositionPrecedenteCurseur().reelle(repere));
     }
     
+    /**
+     * Récupère le calque sur lequel une forme est normalement dessinée.
+     *
+     * @param forme la forme dessinée.
+     * @return le calque de la forme.
+     */
+    private Calque calque(@NotNull final Forme forme) {
+        return formesRepere.contains(forme) ? calqueFond : calqueContenu;
+    }
+
     /**
      * L'événement d'actualisation de l'ensemble des formes de l'espace. Lie
-     * l'événement d'actualisation de l'espace aux formes ajoutées à la liste,
-     * ou retire l'événement d'actualisation de l'espace aux formes retirées de
-     * la liste.
+     * une observation aux formes ajoutées à la liste et les regroupe selon leur
+     * indice de rendu, ou retire l'observation et le regroupement des formes
+     * retirées de la liste.
      */
     private class FormesListener extends SetChangeListener<Forme> {
 
         @Override
         public void onAdd(@NotNull final Forme forme) {
-            forme.getProprietes().stream().forEach((propriete) -> {
-                propriete.addListener(evenementActualisation);
-            });
+            final int indice = ordreRendu.indice(forme);
+            if (indice < 0) {
+                LOGGER.warn(String.format("La classe de forme %s n'est pas "
+                        + "comprise dans l'ordre de rendu de la toile.",
+                        forme.getClass().getSimpleName()));
+            } else {
+                formesParIndice.get(indice).add(forme);
+            }
+            if (forme instanceof Etiquette) {
+                etiquettes.add((Etiquette) forme);
+            }
+            final ObservationForme observation = new ObservationForme(forme);
+            observations.put(forme, observation);
+            observation.lier();
         }
 
         @Override
         public void onRemove(@NotNull final Forme forme) {
-            forme.getProprietes().stream().forEach((propriete) -> {
-                propriete.removeListener(evenementActualisation);
-            });
+            final int indice = ordreRendu.indice(forme);
+            if (indice >= 0) {
+                formesParIndice.get(indice).remove(forme);
+            }
+            etiquettes.remove(forme);
+            etiquettesMasquees.remove(forme);
+            forme.liberer(repere);
+            final ObservationForme observation = observations.remove(forme);
+            if (observation != null) {
+                observation.delier();
+            }
+        }
+
+    }
+
+    /**
+     * Un lot d'état regroupe des formes successives de même état graphique
+     * ainsi que l'union de leurs limites.
+     */
+    private static final class LotEtat {
+
+        /**
+         * Les formes du lot dans leur ordre de dessin.
+         */
+        private final List<Forme> formes = new ArrayList<>();
+
+        /**
+         * L'union des limites des formes du lot.
+         */
+        private Rectangle2D limites = Rectangle2D.EMPTY;
+
+        /**
+         * Ajoute une forme à la fin du lot.
+         *
+         * @param forme la forme à ajouter.
+         * @param limitesForme les limites de la forme.
+         */
+        private void ajouter(@NotNull final Forme forme,
+                final Rectangle2D limitesForme) {
+            formes.add(forme);
+            if (limitesForme == null || limitesForme.getWidth() <= 0
+                    && limitesForme.getHeight() <= 0) {
+                return;
+            }
+            if (limites.equals(Rectangle2D.EMPTY)) {
+                limites = limitesForme;
+            } else {
+                final double minX = Math.min(limites.getMinX(),
+                        limitesForme.getMinX());
+                final double minY = Math.min(limites.getMinY(),
+                        limitesForme.getMinY());
+                limites = new Rectangle2D(minX, minY,
+                        Math.max(limites.getMaxX(), limitesForme.getMaxX())
+                        - minX, Math.max(limites.getMaxY(),
+                                limitesForme.getMaxY()) - minY);
+            }
+        }
+
+        /**
+         * Détermine si une forme est du même état graphique que le lot.
+         *
+         * @param forme la forme à tester.
+         * @return {@code true} si la forme est du même état que le lot.
+         */
+        private boolean isMemeEtat(@NotNull final Forme forme) {
+            return EtatGraphique.ORDRE_ETAT.compare(formes.get(0), forme) == 0;
+        }
+
+        /**
+         * Détermine si les limites du lot intersectent des limites. Les
+         * limites testées sont élargies d'un pixel pour tenir compte du
+         * lissage des bords des formes.
+         *
+         * @param limitesForme les limites à tester.
+         * @return {@code true} si les limites se chevauchent.
+         */
+        private boolean intersecte(@NotNull final Rectangle2D limitesForme) {
+            return limites.intersects(limitesForme.getMinX() - 1,
+                    limitesForme.getMinY() - 1, limitesForme.getWidth() + 2,
+                    limitesForme.getHeight() + 2);
+        }
+
+    }
+
+    /**
+     * Un rendu progressif dessine les formes du calque de contenu par tranches
+     * dans leur ordre de rendu, chaque tranche étant limitée à
+     * {@code BUDGET_RENDU_PROGRESSIF}, de telle sorte que le fil d'exécution
+     * de l'application demeure disponible entre les impulsions graphiques.
+     * Une première passe grossière dessine toutes les formes au niveau de
+     * détail minimal. Si le niveau de détail du calque n'est pas minimal, une
+     * passe de raffinement redessine ensuite les points et les étiquettes,
+     * seules formes dont le dessin dépend du niveau de détail. La zone qu'ils
+     * occupent est d'abord effacée, puis toutes les formes qui l'intersectent
+     * y sont redessinées dans leur ordre de rendu, de telle sorte que le
+     * raffinement ne s'accumule pas sur le dessin grossier.
+     */
+    private class RenduProgressif {
+
+        /**
+         * Le nombre de formes dessinées entre deux vérifications du temps
+         * écoulé.
+         */
+        private static final int INTERVALLE_VERIFICATION = 16;
+
+        /**
+         * Les formes à dessiner dans leur ordre de rendu.
+         */
+        private final List<Forme> formesADessiner;
+
+        /**
+         * La zone d'affichage du calque de contenu.
+         */
+        private final Rectangle2D affichage;
+
+        /**
+         * L'indice de la prochaine forme à dessiner.
+         */
+        private int indice = 0;
+
+        /**
+         * Si la passe de raffinement est en cours.
+         */
+        private boolean raffinement = false;
+
+        /**
+         * La zone redessinée lors de la passe de raffinement.
+         */
+        private final ZoneInvalidee zoneRaffinement
+                = new ZoneInvalidee(SEUIL_REDESSIN_COMPLET);
+
+        /**
+         * Construit un rendu progressif de formes définies.
+         *
+         * @param formesADessiner les formes à dessiner dans leur ordre de
+         * rendu.
+         */
+        public RenduProgressif(@NotNull final List<Forme> formesADessiner) {
+            this.formesADessiner = formesADessiner;
+            this.affichage = new Rectangle2D(0, 0, calqueContenu.getWidth(),
+                    calqueContenu.getHeight());
+        }
+
+        /**
+         * Poursuit le rendu jusqu'à ce que toutes les formes soient dessinées
+         * ou que le budget de temps de l'impulsion soit écoulé. La passe de
+         * raffinement commence toujours à une nouvelle impulsion pour que la
+         * passe grossière soit affichée.
+         *
+         * @return {@code true} si le rendu est terminé.
+         */
+        public boolean poursuivre() {
+            final long limite = System.nanoTime() + BUDGET_RENDU_PROGRESSIF;
+            final GraphicsContext contexteGraphique = calqueContenu
+                    .getGraphicsContext2D();
+            if (raffinement) {
+                niveauDetailContenu.appliquer(calqueContenu);
+                contexteGraphique.save();
+                restreindre(contexteGraphique, indice == 0);
+            } else {
+                NiveauDetail.MINIMAL.appliquer(calqueContenu);
+            }
+            try {
+                while (indice < formesADessiner.size()) {
+                    dessiner(formesADessiner.get(indice++));
+                    if (indice % INTERVALLE_VERIFICATION == 0
+                            && System.nanoTime() >= limite) {
+                        return false;
+                    }
+                }
+            } finally {
+                if (raffinement) {
+                    contexteGraphique.restore();
+                }
+            }
+            if (!raffinement && niveauDetailContenu != NiveauDetail.MINIMAL) {
+                for (final Forme forme : formesADessiner) {
+                    final Rectangle2D limites = limitesContenu.get(forme);
+                    if ((forme instanceof Point || forme instanceof Etiquette)
+                            && limites != null
+                            && limites.intersects(affichage)) {
+                        zoneRaffinement.invalider(limites);
+                    }
+                }
+                if (zoneRaffinement.isVide()) {
+                    return true;
+                }
+                raffinement = true;
+                indice = 0;
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Restreint le contexte graphique du calque de contenu à la zone de
+         * raffinement. Au début de la passe de raffinement, la zone est
+         * effacée, ou l'ensemble du calque si la zone est complète.
+         *
+         * @param contexteGraphique le contexte graphique du calque.
+         * @param effacer si la zone doit être effacée.
+         */
+        private void restreindre(
+                @NotNull final GraphicsContext contexteGraphique,
+                final boolean effacer) {
+            if (zoneRaffinement.isComplete(affichage.getWidth(),
+                    affichage.getHeight())) {
+                if (effacer) {
+                    effacerAffichage(calqueContenu);
+                }
+                return;
+            }
+            contexteGraphique.beginPath();
+            for (final Rectangle2D rectangle : zoneRaffinement.getRectangles()) {
+                contexteGraphique.rect(rectangle.getMinX(),
+                        rectangle.getMinY(), rectangle.getWidth(),
+                        rectangle.getHeight());
+                if (effacer) {
+                    contexteGraphique.clearRect(rectangle.getMinX(),
+                            rectangle.getMinY(), rectangle.getWidth(),
+                            rectangle.getHeight());
+                }
+            }
+            contexteGraphique.clip();
+        }
+
+        /**
+         * Dessine une forme lors de la passe en cours. Les limites des formes
+         * sont calculées lors de la première passe. Seules les formes qui
+         * intersectent la zone de raffinement sont redessinées lors de la
+         * passe de raffinement.
+         *
+         * @param forme la forme à dessiner.
+         */
+        private void dessiner(@NotNull final Forme forme) {
+            if (!isDessineeSurContenu(forme)) {
+                return;
+            }
+            Rectangle2D limites = limitesContenu.get(forme);
+            if (limites == null) {
+                limites = forme.limites(calqueContenu, repere);
+                limitesContenu.put(forme, limites);
+            }
+            if (limites.intersects(affichage) && (!raffinement
+                    || zoneRaffinement.isComplete(affichage.getWidth(),
+                            affichage.getHeight())
+                    || zoneRaffinement.intersecte(limites))) {
+                forme.dessiner(calqueContenu, repere);
+            }
+        }
+
+    }
+
+    /**
+     * Une observation de forme actualise le calque concerné par l'invalidation
+     * d'une propriété de la forme. Les propriétés d'une forme en
+     * prévisualisation n'actualisent que le calque d'interaction, et les
+     * propriétés d'une forme survolée actualisent aussi sa surbrillance. Les
+     * états de surbrillance et de prévisualisation déterminent si la forme est
+     * dessinée sur le calque de surbrillance ou sur le calque d'interaction.
+     */
+    private class ObservationForme {
+
+        /**
+         * La forme observée.
+         */
+        private final Forme forme;
+
+        /**
+         * L'événement d'actualisation du calque de la forme. Il n'est appelé
+         * que lorsque la valeur d'une propriété change réellement, de telle
+         * sorte qu'une propriété redéfinie à une valeur égale n'entraîne
+         * aucun dessin.
+         */
+        private final ChangeListener<Object> actualisation;
+
+        /**
+         * L'événement de modification de l'état d'interaction de la forme.
+         */
+        private final InvalidationListener interaction;
+
+        /**
+         * Construit une observation sur une forme définie.
+         *
+         * @param forme la forme à observer.
+         */
+        public ObservationForme(@NotNull final Forme forme) {
+            this.forme = forme;
+            final Calque calque = calque(forme);
+            actualisation = (observable, ancienneValeur, nouvelleValeur) -> {
+                marquerModifiee();
+                if (forme.isEnPrevisualisation()) {
+                    calqueInteraction.modifier();
+                } else {
+                    calque.modifier();
+                }
+                if (forme.isEnSurvol()) {
+                    calqueSurbrillance.modifier();
+                }
+            };
+            interaction = (observable) -> {
+                actualiserInteraction();
+                if (observable == forme.enPrevisualisationProperty()) {
+                    marquerModifiee();
+                    calque.modifier();
+                    calqueInteraction.modifier();
+                } else if (forme instanceof Etiquette) {
+                    calque.modifier();
+                }
+                calqueSurbrillance.modifier();
+            };
+        }
+
+        /**
+         * Lie les événements de cette observation aux propriétés de la forme.
+         */
+        public void lier() {
+            for (final Property<?> propriete : forme.getProprietes()) {
+                propriete.addListener(actualisation);
+            }
+            forme.enSurvolProperty().addListener(interaction);
+            forme.enPrevisualisationProperty().addListener(interaction);
+            actualiserInteraction();
+            marquerModifiee();
+        }
+
+        /**
+         * Délie les événements de cette observation des propriétés de la
+         * forme.
+         */
+        public void delier() {
+            for (final Property<?> propriete : forme.getProprietes()) {
+                propriete.removeListener(actualisation);
+            }
+            forme.enSurvolProperty().removeListener(interaction);
+            forme.enPrevisualisationProperty().removeListener(interaction);
+            marquerModifiee();
+            if (formesInteraction.remove(forme)) {
+                calqueSurbrillance.modifier();
+                calqueInteraction.modifier();
+            }
+        }
+
+        /**
+         * Marque la forme comme modifiée depuis le dernier dessin du calque de
+         * contenu si elle y est dessinée.
+         */
+        private void marquerModifiee() {
+            if (calque(forme) == calqueContenu) {
+                formesModifiees.add(forme);
+            }
+        }
+
+        /**
+         * Ajoute ou retire la forme des formes d'interaction selon ses états
+         * de surbrillance et de prévisualisation.
+         */
+        private void actualiserInteraction() {
+            if (forme.isEnSurvol() || forme.isEnPrevisualisation()) {
+                formesInteraction.add(forme);
+            } else {
+                formesInteraction.remove(forme);
+            }
         }
 
     }
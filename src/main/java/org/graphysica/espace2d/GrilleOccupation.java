@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import com.sun.istack.internal.NotNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Une grille d'occupation découpe une toile en cellules carrées pour réserver
+ * des rectangles virtuels qui ne se chevauchent pas. Chaque rectangle réservé
+ * est inscrit dans les cellules qu'il recouvre, de telle sorte qu'une
+ * réservation ne soit comparée qu'aux rectangles de ces cellules.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class GrilleOccupation {
+
+    /**
+     * La taille d'une cellule de la grille exprimée en pixels.
+     */
+    private final double tailleCellule;
+
+    /**
+     * Les rectangles réservés inscrits dans chaque cellule occupée de la
+     * grille, associés à l'indice de la cellule.
+     */
+    private final Map<Integer, List<Rectangle2D>> cellules = new HashMap<>();
+
+    /**
+     * Le nombre de colonnes de la grille.
+     */
+    private int colonnes = 0;
+
+    /**
+     * Le nombre de lignes de la grille.
+     */
+    private int lignes = 0;
+
+    /**
+     * Construit une grille d'occupation dont la taille des cellules est
+     * définie.
+     *
+     * @param tailleCellule la taille d'une cellule exprimée en pixels.
+     */
+    GrilleOccupation(final double tailleCellule) {
+        this.tailleCellule = tailleCellule;
+    }
+
+    /**
+     * Libère toutes les cellules de la grille et ajuste la grille aux
+     * dimensions d'une toile.
+     *
+     * @param largeur la largeur virtuelle de la toile.
+     * @param hauteur la hauteur virtuelle de la toile.
+     */
+    void reinitialiser(final double largeur, final double hauteur) {
+        cellules.clear();
+        colonnes = (int) Math.ceil(largeur / tailleCellule);
+        lignes = (int) Math.ceil(hauteur / tailleCellule);
+    }
+
+    /**
+     * Réserve un rectangle virtuel s'il ne chevauche aucun rectangle déjà
+     * réservé. Un rectangle vide ou situé hors de la grille n'occupe aucune
+     * cellule et est toujours réservé.
+     *
+     * @param rectangle le rectangle à réserver.
+     * @return {@code true} si le rectangle a été réservé, {@code false} s'il
+     * chevauche un rectangle déjà réservé.
+     */
+    boolean reserver(@NotNull final Rectangle2D rectangle) {
+        if (rectangle.getWidth() <= 0 || rectangle.getHeight() <= 0) {
+            return true;
+        }
+        final int colonneMinimale = Math.max(0,
+                (int) Math.floor(rectangle.getMinX() / tailleCellule));
+        final int colonneMaximale = Math.min(colonnes - 1,
+                (int) Math.floor(rectangle.getMaxX() / tailleCellule));
+        final int ligneMinimale = Math.max(0,
+                (int) Math.floor(rectangle.getMinY() / tailleCellule));
+        final int ligneMaximale = Math.min(lignes - 1,
+                (int) Math.floor(rectangle.getMaxY() / tailleCellule));
+        for (int ligne = ligneMinimale; ligne <= ligneMaximale; ligne++) {
+            for (int colonne = colonneMinimale; colonne <= colonneMaximale;
+                    colonne++) {
+                final List<Rectangle2D> reserves = cellules.get(
+                        ligne * colonnes + colonne);
+                if (reserves != null) {
+                    for (final Rectangle2D reserve : reserves) {
+                        if (reserve.intersects(rectangle)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        for (int ligne = ligneMinimale; ligne <= ligneMaximale; ligne++) {
+            for (int colonne = colonneMinimale; colonne <= colonneMaximale;
+                    colonne++) {
+                cellules.computeIfAbsent(ligne * colonnes + colonne,
+                        (indice) -> new ArrayList<>()).add(rectangle);
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import com.sun.istack.internal.NotNull;
+import javafx.animation.AnimationTimer;
+
+/**
+ * Un planificateur de rendu regroupe les demandes d'actualisation d'un objet
+ * actualisable de telle sorte qu'il ne soit actualisé qu'au plus une fois par
+ * impulsion graphique de JavaFX. Une demande d'actualisation marque l'objet
+ * comme étant à redessiner, et l'actualisation a lieu à la prochaine
+ * impulsion. Le planificateur est arrêté entre deux demandes pour ne pas
+ * solliciter inutilement le fil d'exécution de l'application. Si la cible n'a
+ * pas été modifiée depuis sa dernière actualisation lors de l'impulsion, son
+ * actualisation est évitée.
+ * <p>
+ * Le planificateur doit être manipulé à partir du fil d'exécution de
+ * l'application JavaFX.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class PlanificateurRendu extends AnimationTimer {
+
+    /**
+     * L'objet actualisé par ce planificateur.
+     */
+    private final Actualisable cible;
+
+    /**
+     * Si une actualisation de la cible est en attente.
+     */
+    private boolean actualisationDemandee = false;
+
+    /**
+     * Le nombre d'images demandées depuis la construction du planificateur.
+     */
+    private long imagesDemandees = 0;
+
+    /**
+     * Le nombre d'images effectivement rendues depuis la construction du
+     * planificateur.
+     */
+    private long imagesRendues = 0;
+
+    /**
+     * Le nombre d'images évitées depuis la construction du planificateur parce
+     * que la cible n'avait pas été modifiée.
+     */
+    private long imagesEvitees = 0;
+
+    /**
+     * Construit un planificateur de rendu sur une cible définie.
+     *
+     * @param cible l'objet à actualiser.
+     */
+    PlanificateurRendu(@NotNull final Actualisable cible) {
+        this.cible = cible;
+    }
+
+    /**
+     * Demande l'actualisation de la cible à la prochaine impulsion graphique.
+     * Les demandes successives faites avant cette impulsion sont regroupées en
+     * une seule actualisation.
+     */
+    void demander() {
+        imagesDemandees++;
+        if (!actualisationDemandee) {
+            actualisationDemandee = true;
+            start();
+        }
+    }
+
+    @Override
+    public void handle(final long maintenant) {
+        stop();
+        actualisationDemandee = false;
+        if (!cible.isModifie()) {
+            imagesEvitees++;
+            return;
+        }
+        imagesRendues++;
+        cible.actualiser();
+    }
+
+    long getImagesDemandees() {
+        return imagesDemandees;
+    }
+
+    long getImagesRendues() {
+        return imagesRendues;
+    }
+
+    long getImagesEvitees() {
+        return imagesEvitees;
+    }
+
+}
@@ -17,7 +17,13 @@
 package org.graphysica.espace2d;
 
 import com.sun.istack.internal.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 import javafx.beans.property.SimpleObjectProperty;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 
@@ -51,6 +57,56 @@ public final class Repere {
     private final ObjectProperty<Vector2D> echelle
             = new SimpleObjectProperty<>(new Vector2D(100, 100));
 
+    /**
+     * La version de la transformation de ce repère. Elle est incrémentée une
+     * seule fois par modification de l'origine virtuelle, de l'échelle ou des
+     * deux à la fois, de telle sorte que les observateurs de la version ne
+     * perçoivent jamais un état intermédiaire de la transformation.
+     */
+    private final ReadOnlyLongWrapper version = new ReadOnlyLongWrapper(0);
+
+    /**
+     * Si l'origine virtuelle et l'échelle sont en cours de modification
+     * simultanée. La version n'est alors incrémentée qu'à la fin de la
+     * modification.
+     */
+    private boolean modificationSimultanee = false;
+
+    /**
+     * Le tampon des positions transformées par ce repère.
+     */
+    private final TamponPositions tampon = new TamponPositions(this);
+
+    /**
+     * Le nombre maximal d'ensembles de graduations conservés pour une même
+     * version du repère.
+     */
+    private static final int CAPACITE_GRADUATIONS = 16;
+
+    /**
+     * Les ensembles de graduations calculés pour la version actuelle du
+     * repère, associés à leur orientation, à la dimension de la toile et à
+     * l'espacement minimal des graduations.
+     */
+    private final Map<CleGraduations, double[]> graduations = new HashMap<>();
+
+    {
+        origineVirtuelle.addListener((observable, ancienne, nouvelle) -> {
+            if (!modificationSimultanee) {
+                incrementerVersion();
+            }
+        });
+        echelle.addListener((observable, ancienne, nouvelle) -> {
+            if (!modificationSimultanee) {
+                incrementerVersion();
+            }
+        });
+        version.addListener((InvalidationListener) (observable) -> {
+            tampon.invalider();
+            graduations.clear();
+        });
+    }
+
     /**
      * Construit un repère centré à l'origine réelle. L'origine et l'échelle
      * sont alors définies par défaut.
@@ -93,8 +149,39 @@ public final class Repere {
      */
     public Repere(@NotNull final Vector2D origineVirtuelle,
             @NotNull final Vector2D echelle) {
-        setOrigineVirtuelle(origineVirtuelle);
-        setEchelle(echelle);
+        definir(origineVirtuelle, echelle);
+    }
+
+    /**
+     * Modifie simultanément l'origine virtuelle et l'échelle de ce repère. La
+     * version du repère n'est incrémentée qu'une seule fois.
+     *
+     * @param origineVirtuelle la nouvelle origine de ce repère, exprimée en
+     * pixels.
+     * @param echelle la nouvelle échelle de ce repère, exprimée en pixels par
+     * mètre.
+     */
+    public void definir(@NotNull final Vector2D origineVirtuelle,
+            @NotNull final Vector2D echelle) {
+        final boolean modification = !origineVirtuelle.equals(
+                getOrigineVirtuelle()) || !echelle.equals(getEchelle());
+        modificationSimultanee = true;
+        try {
+            setOrigineVirtuelle(origineVirtuelle);
+            setEchelle(echelle);
+        } finally {
+            modificationSimultanee = false;
+        }
+        if (modification) {
+            incrementerVersion();
+        }
+    }
+
+    /**
+     * Incrémente la version de la transformation de ce repère.
+     */
+    private void incrementerVersion() {
+        version.set(version.get() + 1);
     }
 
     /**
@@ -194,6 +281,31 @@ public final class Repere {
         return positionsVirtuelles;
     }
 
+    /**
+     * Transforme un ensemble de positions réelles en positions virtuelles en
+     * un seul parcours. Les coordonnées sont lues et écrites dans des tableaux
+     * distincts pour chaque axe, et aucun objet n'est construit.
+     *
+     * @param abscissesReelles les abscisses réelles des positions.
+     * @param ordonneesReelles les ordonnées réelles des positions.
+     * @param abscissesVirtuelles les abscisses virtuelles calculées.
+     * @param ordonneesVirtuelles les ordonnées virtuelles calculées.
+     * @param nombre le nombre de positions à transformer.
+     */
+    public void transformer(@NotNull final double[] abscissesReelles,
+            @NotNull final double[] ordonneesReelles,
+            @NotNull final double[] abscissesVirtuelles,
+            @NotNull final double[] ordonneesVirtuelles, final int nombre) {
+        final double echelleX = getEchelle().getX();
+        final double echelleY = getEchelle().getY();
+        final double origineX = getOrigineVirtuelle().getX();
+        final double origineY = getOrigineVirtuelle().getY();
+        for (int i = 0; i < nombre; i++) {
+            abscissesVirtuelles[i] = abscissesReelles[i] * echelleX + origineX;
+            ordonneesVirtuelles[i] = -ordonneesReelles[i] * echelleY + origineY;
+        }
+    }
+
     /**
      * Calcule l'abscisse réelle d'une abscisse virtuelle.
      *
@@ -291,9 +403,25 @@ public final class Repere {
      * graduation.
      * @return l'ensemble des valeurs d'abscisse des graduations horizontales de
      * la toile.
+     * @see #graduations(boolean, double, double)
      */
     public double[] graduationsHorizontales(final double hauteur,
             final double espacementMinimal) {
+        return graduations(true, hauteur, espacementMinimal);
+    }
+
+    /**
+     * Calcule la position virtuelle des graduations horizontales de l'espace
+     * sans consulter les graduations déjà calculées.
+     *
+     * @param hauteur la hauteur virtuelle de l'espace exprimée en pixels.
+     * @param espacementMinimal l'espacement virtuel minimal entre chaque
+     * graduation.
+     * @return l'ensemble des valeurs d'abscisse des graduations horizontales de
+     * la toile.
+     */
+    private double[] calculerGraduationsHorizontales(final double hauteur,
+            final double espacementMinimal) {
         final double espacementMinimalReel = espacementMinimal / getEchelle()
                 .getY();
         final int exposant = (int) (Math.log(espacementMinimalReel)
@@ -331,9 +459,25 @@ public final class Repere {
      * graduation.
      * @return l'ensemble des valeurs d'ordonnée des graduations verticales de
      * la toile.
+     * @see #graduations(boolean, double, double)
      */
     public double[] graduationsVerticales(final double largeur,
             final double espacementMinimal) {
+        return graduations(false, largeur, espacementMinimal);
+    }
+
+    /**
+     * Calcule la position virtuelle des graduations verticales de l'espace
+     * sans consulter les graduations déjà calculées.
+     *
+     * @param largeur la largeur virtuelle de l'espace exprimée en pixels.
+     * @param espacementMinimal l'espacement virtuel minimal entre chaque
+     * graduation.
+     * @return l'ensemble des valeurs d'ordonnée des graduations verticales de
+     * la toile.
+     */
+    private double[] calculerGraduationsVerticales(final double largeur,
+            final double espacementMinimal) {
         final double espacementMinimalReel = espacementMinimal / getEchelle()
                 .getX();
         final int exposant = (int) (Math.log(espacementMinimalReel)
@@ -354,6 +498,96 @@ public final class Repere {
         return graduationsVerticales;
     }
 
+    /**
+     * Récupère un ensemble de graduations de l'espace. Les graduations sont
+     * calculées une seule fois par version du repère, dimension de toile et
+     * espacement minimal, puis partagées par toutes les formes qui les
+     * demandent. Le tableau retourné ne doit donc pas être modifié.
+     *
+     * @param horizontales si les graduations sont horizontales.
+     * @param dimension la dimension virtuelle de l'espace graduée, soit sa
+     * hauteur pour les graduations horizontales et sa largeur pour les
+     * graduations verticales.
+     * @param espacementMinimal l'espacement virtuel minimal entre chaque
+     * graduation.
+     * @return l'ensemble des graduations.
+     */
+    private double[] graduations(final boolean horizontales,
+            final double dimension, final double espacementMinimal) {
+        final CleGraduations cle = new CleGraduations(horizontales, dimension,
+                espacementMinimal);
+        double[] valeurs = graduations.get(cle);
+        if (valeurs == null) {
+            valeurs = horizontales
+                    ? calculerGraduationsHorizontales(dimension,
+                            espacementMinimal)
+                    : calculerGraduationsVerticales(dimension,
+                            espacementMinimal);
+            if (graduations.size() >= CAPACITE_GRADUATIONS) {
+                graduations.clear();
+            }
+            graduations.put(cle, valeurs);
+        }
+        return valeurs;
+    }
+
+    /**
+     * Une clé de graduations identifie un ensemble de graduations calculé pour
+     * une même version du repère.
+     */
+    private static final class CleGraduations {
+
+        /**
+         * Si les graduations sont horizontales.
+         */
+        private final boolean horizontales;
+
+        /**
+         * La dimension virtuelle de l'espace gradué.
+         */
+        private final double dimension;
+
+        /**
+         * L'espacement virtuel minimal entre chaque graduation.
+         */
+        private final double espacementMinimal;
+
+        /**
+         * Construit une clé de graduations.
+         *
+         * @param horizontales si les graduations sont horizontales.
+         * @param dimension la dimension virtuelle de l'espace gradué.
+         * @param espacementMinimal l'espacement minimal des graduations.
+         */
+        private CleGraduations(final boolean horizontales,
+                final double dimension, final double espacementMinimal) {
+            this.horizontales = horizontales;
+            this.dimension = dimension;
+            this.espacementMinimal = espacementMinimal;
+        }
+
+        @Override
+        public boolean equals(final Object objet) {
+            if (this == objet) {
+                return true;
+            }
+            if (!(objet instanceof CleGraduations)) {
+                return false;
+            }
+            final CleGraduations cle = (CleGraduations) objet;
+            return horizontales == cle.horizontales
+                    && Double.compare(dimension, cle.dimension) == 0
+                    && Double.compare(espacementMinimal,
+                            cle.espacementMinimal) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(horizontales, dimension, espacementMinimal);
+        }
+
+    }
+
     public Vector2D getOrigineVirtuelle() {
         return origineVirtuelle.getValue();
     }
@@ -388,4 +622,16 @@ public final class Repere {
         return echelle;
     }
 
+    public long getVersion() {
+        return version.get();
+    }
+
+    public ReadOnlyLongProperty versionProperty() {
+        return version.getReadOnlyProperty();
+    }
+
+    public TamponPositions getTampon() {
+        return tampon;
+    }
+
 }
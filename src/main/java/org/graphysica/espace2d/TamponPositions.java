@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import com.sun.istack.internal.NotNull;
+import java.util.Arrays;
+
+/**
+ * Un tampon de positions conserve les coordonnées réelles et virtuelles d'un
+ * ensemble de positions dans des tableaux de nombres réels. Chaque position
+ * occupe un emplacement stable réservé par la forme qui la dessine. Les
+ * coordonnées virtuelles de toutes les positions sont recalculées en un seul
+ * parcours lors de la première lecture suivant une modification du repère, de
+ * telle sorte que le dessin des formes ne construise aucun vecteur.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public final class TamponPositions {
+
+    /**
+     * La capacité initiale du tampon.
+     */
+    private static final int CAPACITE_INITIALE = 64;
+
+    /**
+     * Le repère de transformation des positions du tampon.
+     */
+    private final Repere repere;
+
+    /**
+     * Les abscisses réelles des positions.
+     */
+    private double[] abscissesReelles = new double[CAPACITE_INITIALE];
+
+    /**
+     * Les ordonnées réelles des positions.
+     */
+    private double[] ordonneesReelles = new double[CAPACITE_INITIALE];
+
+    /**
+     * Les abscisses virtuelles des positions.
+     */
+    private double[] abscissesVirtuelles = new double[CAPACITE_INITIALE];
+
+    /**
+     * Les ordonnées virtuelles des positions.
+     */
+    private double[] ordonneesVirtuelles = new double[CAPACITE_INITIALE];
+
+    /**
+     * Les emplacements libérés qui peuvent être réservés à nouveau.
+     */
+    private int[] emplacementsLibres = new int[CAPACITE_INITIALE];
+
+    /**
+     * Le nombre d'emplacements libérés.
+     */
+    private int nombreLibres = 0;
+
+    /**
+     * Le nombre d'emplacements utilisés du tampon, incluant les emplacements
+     * libérés.
+     */
+    private int taille = 0;
+
+    /**
+     * Si les coordonnées virtuelles reflètent le repère actuel.
+     */
+    private boolean valide = false;
+
+    /**
+     * Construit un tampon de positions transformées par un repère défini.
+     *
+     * @param repere le repère de transformation des positions.
+     */
+    TamponPositions(@NotNull final Repere repere) {
+        this.repere = repere;
+    }
+
+    /**
+     * Réserve un emplacement du tampon. Les emplacements libérés sont
+     * réutilisés avant que le tampon ne soit agrandi.
+     *
+     * @return l'emplacement réservé.
+     */
+    public int reserver() {
+        if (nombreLibres > 0) {
+            return emplacementsLibres[--nombreLibres];
+        }
+        if (taille == abscissesReelles.length) {
+            final int capacite = 2 * taille;
+            abscissesReelles = Arrays.copyOf(abscissesReelles, capacite);
+            ordonneesReelles = Arrays.copyOf(ordonneesReelles, capacite);
+            abscissesVirtuelles = Arrays.copyOf(abscissesVirtuelles, capacite);
+            ordonneesVirtuelles = Arrays.copyOf(ordonneesVirtuelles, capacite);
+        }
+        return taille++;
+    }
+
+    /**
+     * Libère un emplacement réservé du tampon.
+     *
+     * @param emplacement l'emplacement à libérer.
+     */
+    public void liberer(final int emplacement) {
+        if (nombreLibres == emplacementsLibres.length) {
+            emplacementsLibres = Arrays.copyOf(emplacementsLibres,
+                    2 * nombreLibres);
+        }
+        emplacementsLibres[nombreLibres++] = emplacement;
+    }
+
+    /**
+     * Définit la position réelle d'un emplacement. Sa position virtuelle est
+     * immédiatement recalculée si le tampon est valide.
+     *
+     * @param emplacement l'emplacement de la position.
+     * @param abscisse l'abscisse réelle de la position.
+     * @param ordonnee l'ordonnée réelle de la position.
+     */
+    public void definir(final int emplacement, final double abscisse,
+            final double ordonnee) {
+        abscissesReelles[emplacement] = abscisse;
+        ordonneesReelles[emplacement] = ordonnee;
+        if (valide) {
+            abscissesVirtuelles[emplacement] = repere.abscisseVirtuelle(
+                    abscisse);
+            ordonneesVirtuelles[emplacement] = repere.ordonneeVirtuelle(
+                    ordonnee);
+        }
+    }
+
+    /**
+     * Invalide les coordonnées virtuelles du tampon. Elles seront recalculées
+     * lors de la prochaine lecture.
+     */
+    void invalider() {
+        valide = false;
+    }
+
+    /**
+     * Recalcule les coordonnées virtuelles de toutes les positions du tampon
+     * si elles ne reflètent pas le repère actuel.
+     */
+    private void valider() {
+        if (!valide) {
+            repere.transformer(abscissesReelles, ordonneesReelles,
+                    abscissesVirtuelles, ordonneesVirtuelles, taille);
+            valide = true;
+        }
+    }
+
+    /**
+     * Récupère l'abscisse virtuelle de la position d'un emplacement.
+     *
+     * @param emplacement l'emplacement de la position.
+     * @return l'abscisse virtuelle de la position.
+     */
+    public double abscisseVirtuelle(final int emplacement) {
+        valider();
+        return abscissesVirtuelles[emplacement];
+    }
+
+    /**
+     * Récupère l'ordonnée virtuelle de la position d'un emplacement.
+     *
+     * @param emplacement l'emplacement de la position.
+     * @return l'ordonnée virtuelle de la position.
+     */
+    public double ordonneeVirtuelle(final int emplacement) {
+        valider();
+        return ordonneesVirtuelles[emplacement];
+    }
+
+}
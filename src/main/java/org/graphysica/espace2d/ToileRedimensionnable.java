@@ -20,7 +20,16 @@ import javafx.beans.InvalidationListener;
 import javafx.scene.canvas.Canvas;
 
 /**
- * Une toile redimensionnable est actualisée lorsqu'elle est redimensionnée. Il
+ * Une toile redimensionnable est actualisée lorsqu'elle est redimensionnée. Les
+ * actualisations de la toile sont regroupées par un planificateur de rendu de
+ * telle sorte que la toile soit redessinée au plus une fois par impulsion
+ * graphique, peu importe le nombre d'invalidations qui la concernent.
+ * <p>
+ * La toile est redessinée seulement si sa version ou ses dimensions diffèrent
+ * de celles de son dernier dessin. La version de la toile n'est incrémentée
+ * que par {@link #modifier()}, lorsque l'état qu'elle affiche change
+ * réellement. Une simple demande d'actualisation planifie une impulsion, mais
+ * n'entraîne aucun dessin si rien n'a changé depuis le dernier dessin. Il
  * faut lier les dimensions de la toile aux dimensions du panneau parent.
  * <pre>
  *      ToileRedimensionnable toile = ...;
@@ -35,13 +44,51 @@ abstract class ToileRedimensionnable extends Canvas
         implements Actualisable {
 
     /**
-     * L'événement d'actualisation de la toile redimmensionable.
+     * Le planificateur des actualisations de la toile.
+     */
+    private final PlanificateurRendu planificateur
+            = new PlanificateurRendu(this);
+
+    /**
+     * L'événement de modification de la toile redimmensionable. Modifie la
+     * toile, qui est redessinée à la prochaine impulsion graphique.
      */
     protected final InvalidationListener evenementActualisation = (observable)
             -> {
-        actualiser();
+        modifier();
     };
 
+    /**
+     * L'événement de redimensionnement de la toile. Planifie une impulsion
+     * sans marquer la toile comme modifiée, de telle sorte que le dessin soit
+     * évité si les dimensions sont les mêmes qu'au dernier dessin.
+     */
+    private final InvalidationListener evenementRedimensionnement
+            = (observable) -> {
+                planificateur.demander();
+            };
+
+    /**
+     * La version de l'état affiché par la toile, incrémentée à chaque
+     * modification de cet état.
+     */
+    private long version = 0;
+
+    /**
+     * La version de la toile lors de son dernier dessin.
+     */
+    private long versionDessinee = -1;
+
+    /**
+     * La largeur de la toile lors de son dernier dessin.
+     */
+    private double largeurDessinee = -1;
+
+    /**
+     * La hauteur de la toile lors de son dernier dessin.
+     */
+    private double hauteurDessinee = -1;
+
     /**
      * Construit une toile redimensionnable.
      */
@@ -60,8 +107,97 @@ abstract class ToileRedimensionnable extends Canvas
 
     {
         //Traiter la redimension de la toile
-        widthProperty().addListener(evenementActualisation);
-        heightProperty().addListener(evenementActualisation);
+        widthProperty().addListener(evenementRedimensionnement);
+        heightProperty().addListener(evenementRedimensionnement);
+    }
+
+    /**
+     * Actualise la toile en la redessinant. L'état de la toile au moment du
+     * dessin est conservé pour déterminer si elle est modifiée par la suite.
+     */
+    @Override
+    public final void actualiser() {
+        versionDessinee = getVersion();
+        largeurDessinee = getWidth();
+        hauteurDessinee = getHeight();
+        dessiner();
+    }
+
+    /**
+     * Dessine le contenu de la toile.
+     */
+    protected abstract void dessiner();
+
+    /**
+     * Récupère la version de l'état affiché par la toile. La version ne fait
+     * que croître, de telle sorte qu'une version différente de celle du
+     * dernier dessin signifie que la toile a été modifiée.
+     *
+     * @return la version de la toile.
+     */
+    protected long getVersion() {
+        return version;
+    }
+
+    /**
+     * Détermine si la toile a été modifiée depuis son dernier dessin, soit
+     * parce que sa version a changé, soit parce que ses dimensions ont changé.
+     *
+     * @return {@code true} si la toile doit être redessinée.
+     */
+    @Override
+    public final boolean isModifie() {
+        return getVersion() != versionDessinee
+                || getWidth() != largeurDessinee
+                || getHeight() != hauteurDessinee;
+    }
+
+    /**
+     * Signale une modification de l'état affiché par la toile en incrémentant
+     * sa version, puis demande son actualisation.
+     */
+    public final void modifier() {
+        version++;
+        planificateur.demander();
+    }
+
+    /**
+     * Demande l'actualisation de la toile à la prochaine impulsion graphique.
+     * Les demandes effectuées avant cette impulsion sont regroupées en une
+     * seule actualisation, qui est évitée si la toile n'a pas été modifiée
+     * depuis son dernier dessin.
+     */
+    public final void demanderActualisation() {
+        planificateur.demander();
+    }
+
+    /**
+     * Récupère le nombre d'images demandées par les invalidations de la toile.
+     *
+     * @return le nombre d'images demandées.
+     */
+    public final long getImagesDemandees() {
+        return planificateur.getImagesDemandees();
+    }
+
+    /**
+     * Récupère le nombre d'images effectivement rendues par la toile suite à
+     * des demandes d'actualisation.
+     *
+     * @return le nombre d'images rendues.
+     */
+    public final long getImagesRendues() {
+        return planificateur.getImagesRendues();
+    }
+
+    /**
+     * Récupère le nombre d'images évitées parce que la toile n'avait pas été
+     * modifiée depuis son dernier dessin.
+     *
+     * @return le nombre d'images évitées.
+     */
+    public final long getImagesEvitees() {
+        return planificateur.getImagesEvitees();
     }
 
     @Override
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import com.sun.istack.internal.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Une zone invalidée regroupe les rectangles virtuels d'une toile qui doivent
+ * être redessinés. Les rectangles sont agrandis aux pixels entiers qui les
+ * contiennent pour que l'anticrénelage des bordures soit aussi redessiné. Si
+ * l'aire invalidée dépasse un seuil de l'aire de la toile, ou si l'ensemble de
+ * la toile est invalidé, la zone est considérée complète et la toile doit être
+ * redessinée en entier.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class ZoneInvalidee {
+
+    /**
+     * La marge ajoutée autour des rectangles invalidés, exprimée en pixels.
+     */
+    private static final double MARGE = 1;
+
+    /**
+     * La fraction de l'aire de la toile au-delà de laquelle la zone est
+     * considérée complète.
+     */
+    private final double seuil;
+
+    /**
+     * Les rectangles invalidés de la zone.
+     */
+    private final List<Rectangle2D> rectangles = new ArrayList<>();
+
+    /**
+     * La somme des aires des rectangles invalidés. Elle surestime l'aire de la
+     * zone lorsque des rectangles se chevauchent.
+     */
+    private double aire = 0;
+
+    /**
+     * Si l'ensemble de la toile est invalidé. Une zone est initialement
+     * complète puisque la toile n'a jamais été dessinée.
+     */
+    private boolean complete = true;
+
+    /**
+     * Construit une zone invalidée dont le seuil de redessin complet est
+     * défini.
+     *
+     * @param seuil la fraction de l'aire de la toile au-delà de laquelle la
+     * toile est redessinée en entier.
+     */
+    ZoneInvalidee(final double seuil) {
+        this.seuil = seuil;
+    }
+
+    /**
+     * Invalide un rectangle virtuel de la toile. Les rectangles vides sont
+     * ignorés.
+     *
+     * @param rectangle le rectangle à invalider.
+     */
+    void invalider(@NotNull final Rectangle2D rectangle) {
+        if (complete || rectangle.getWidth() <= 0
+                && rectangle.getHeight() <= 0) {
+            return;
+        }
+        final double minX = Math.floor(rectangle.getMinX()) - MARGE;
+        final double minY = Math.floor(rectangle.getMinY()) - MARGE;
+        final double maxX = Math.ceil(rectangle.getMaxX()) + MARGE;
+        final double maxY = Math.ceil(rectangle.getMaxY()) + MARGE;
+        final Rectangle2D rectangleInvalide = new Rectangle2D(minX, minY,
+                maxX - minX, maxY - minY);
+        rectangles.add(rectangleInvalide);
+        aire += rectangleInvalide.getWidth() * rectangleInvalide.getHeight();
+    }
+
+    /**
+     * Invalide l'ensemble de la toile.
+     */
+    void invaliderTout() {
+        complete = true;
+        rectangles.clear();
+        aire = 0;
+    }
+
+    /**
+     * Réinitialise la zone après que la toile a été redessinée.
+     */
+    void reinitialiser() {
+        complete = false;
+        rectangles.clear();
+        aire = 0;
+    }
+
+    /**
+     * Détermine si la toile doit être redessinée en entier.
+     *
+     * @param largeur la largeur de la toile.
+     * @param hauteur la hauteur de la toile.
+     * @return {@code true} si l'ensemble de la toile est invalidé ou si l'aire
+     * invalidée dépasse le seuil de l'aire de la toile.
+     */
+    boolean isComplete(final double largeur, final double hauteur) {
+        return complete || aire > seuil * largeur * hauteur;
+    }
+
+    /**
+     * Détermine si aucune partie de la toile n'est invalidée.
+     *
+     * @return {@code true} si la zone est vide.
+     */
+    boolean isVide() {
+        return !complete && rectangles.isEmpty();
+    }
+
+    /**
+     * Détermine si un rectangle virtuel intersecte la zone invalidée.
+     *
+     * @param rectangle le rectangle à tester.
+     * @return {@code true} si le rectangle intersecte l'un des rectangles
+     * invalidés, ou si la zone est complète.
+     */
+    boolean intersecte(@NotNull final Rectangle2D rectangle) {
+        if (complete) {
+            return true;
+        }
+        for (final Rectangle2D rectangleInvalide : rectangles) {
+            if (rectangleInvalide.intersects(rectangle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Récupère les rectangles invalidés de la zone.
+     *
+     * @return les rectangles invalidés.
+     */
+    List<Rectangle2D> getRectangles() {
+        return Collections.unmodifiableList(rectangles);
+    }
+
+}
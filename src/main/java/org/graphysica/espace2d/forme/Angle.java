@@ -21,6 +21,7 @@ import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -132,15 +133,15 @@ public final class Angle extends Forme {
                     .getGraphicsContext2D();
             final Color couleurRemplissage = couleurTransparente(getCouleur(),
                     opacite.getValue());
-            contexteGraphique.setFill(couleurRemplissage);
+            final EtatGraphique etat = EtatGraphique.de(toile);
+            etat.definirRemplissage(couleurRemplissage);
             contexteGraphique.fillArc(
                     centreVirtuel.getX() - rayon,
                     centreVirtuel.getY() - rayon,
                     2 * rayon, 2 * rayon,
                     angleInitial, angle,
                     ArcType.ROUND);
-            contexteGraphique.setStroke(getCouleur());
-            contexteGraphique.setLineWidth(1);
+            etat.definirTrait(getCouleur(), 1);
             contexteGraphique.strokeArc(
                     centreVirtuel.getX() - rayon,
                     centreVirtuel.getY() - rayon,
@@ -150,6 +151,24 @@ public final class Angle extends Forme {
         }
     }
 
+    /**
+     * Calcule les limites virtuelles de l'angle, soit le carré circonscrit au
+     * cercle du secteur.
+     *
+     * @param toile la toile sur laquelle l'angle est dessiné.
+     * @param repere le repère de l'espace.
+     * @return les limites virtuelles de l'angle.
+     */
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        if (!isDefini()) {
+            return Rectangle2D.EMPTY;
+        }
+        return limites(taille.getValue() * MULTIPLICATEUR_RAYON + 1,
+                getSommet().virtuelle(repere));
+    }
+
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
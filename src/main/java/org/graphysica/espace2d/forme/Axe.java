@@ -18,7 +18,6 @@ package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
@@ -31,6 +30,7 @@ import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.Repere;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.position.PositionReelle;
+import org.graphysica.util.CacheLRU;
 
 /**
  * Un axe permet de graduer l'espace avec des étiquettes et un sens de
@@ -51,6 +51,12 @@ abstract class Axe extends Forme {
      */
     protected static final int MARGE = 15;
 
+    /**
+     * Le nombre maximal d'étiquettes de graduation conservées en réserve par
+     * un axe.
+     */
+    private static final int CAPACITE_RESERVE = 256;
+
     /**
      * L'espacement minimum des graduations de l'axe exprimée en pixels.
      */
@@ -58,9 +64,31 @@ abstract class Axe extends Forme {
 
     /**
      * L'ensemble des étiquettes de graduation de l'axe, chacune étant associée
-     * à sa valeur réelle de graduation.
+     * à sa valeur réelle de graduation. Les valeurs de graduation sont
+     * affichées en texte simple plutôt qu'en format TeX.
+     */
+    protected Map<Double, EtiquetteGraduation> etiquettes = new HashMap<>();
+
+    /**
+     * Les étiquettes de graduation du tracé précédent de l'axe. Cet ensemble
+     * est échangé avec l'ensemble des étiquettes à chaque actualisation des
+     * étiquettes afin d'éviter la reconstruction des tables.
      */
-    protected final Map<Double, Etiquette> etiquettes = new HashMap<>();
+    private Map<Double, EtiquetteGraduation> etiquettesPrecedentes
+            = new HashMap<>();
+
+    /**
+     * La réserve des étiquettes de graduation de l'axe, chacune étant associée
+     * à son texte. Les étiquettes sorties de l'affichage y demeurent pour être
+     * réutilisées lorsque leur texte réapparaît.
+     */
+    private final CacheLRU<String, EtiquetteGraduation> reserveEtiquettes
+            = new CacheLRU<>(CAPACITE_RESERVE);
+
+    /**
+     * Le format d'affichage des valeurs des étiquettes de graduation actuelles.
+     */
+    private String formatEtiquettes;
 
     /**
      * L'origine de l'axe.
@@ -103,6 +131,10 @@ abstract class Axe extends Forme {
     {
         proprietes.add(espacement);
         proprietes.add(tailleCaracteres);
+        tailleCaracteres.addListener((observable) -> {
+            etiquettes.clear();
+            reserveEtiquettes.clear();
+        });
     }
 
     @Override
@@ -111,7 +143,8 @@ abstract class Axe extends Forme {
     }
 
     /**
-     * Dessine des marques de graduation sur l'axe.
+     * Dessine des marques de graduation sur l'axe. Les marques sont tracées
+     * en un seul chemin.
      *
      * @param toile la toile affichant cet axe.
      * @param valeursVirtuelles les valeurs virtuelles de graduation.
@@ -158,7 +191,11 @@ abstract class Axe extends Forme {
     }
 
     /**
-     * Actualise la quantité d'étiquettes requises pour le tracé de cet axe.
+     * Actualise les étiquettes requises pour le tracé de cet axe. Les
+     * étiquettes du tracé précédent dont la valeur est toujours affichée sont
+     * conservées, et les autres sont récupérées dans la réserve de l'axe selon
+     * leur texte. Une étiquette n'est construite que si son texte n'a jamais
+     * été affiché ou a été retiré de la réserve.
      *
      * @param repere le repère d'affichage de cet axe.
      * @param valeurs l'ensemble des valeurs représentées par les étiquettes.
@@ -167,8 +204,37 @@ abstract class Axe extends Forme {
     protected void actualiserEtiquettes(@NotNull final Repere repere, 
             @NotNull double[] valeurs, final String format) {
         valeurs = valeursSansZero(repere, valeurs);
-        retirerEtiquettesObsoletes(valeurs);
-        ajouterEtiquettes(valeurs, format);
+        final Map<Double, EtiquetteGraduation> precedentes = etiquettes;
+        etiquettes = etiquettesPrecedentes;
+        etiquettesPrecedentes = precedentes;
+        etiquettes.clear();
+        final boolean memeFormat = format.equals(formatEtiquettes);
+        formatEtiquettes = format;
+        for (final double valeur : valeurs) {
+            EtiquetteGraduation etiquette = memeFormat
+                    ? precedentes.get(valeur) : null;
+            if (etiquette == null) {
+                etiquette = etiquette(String.format(format, valeur));
+            }
+            etiquettes.put(valeur, etiquette);
+        }
+        precedentes.clear();
+    }
+
+    /**
+     * Récupère l'étiquette de graduation affichant un texte défini. L'étiquette
+     * est construite puis mise en réserve si elle n'est pas déjà en réserve.
+     *
+     * @param texte le texte de l'étiquette.
+     * @return l'étiquette affichant le texte.
+     */
+    private EtiquetteGraduation etiquette(@NotNull final String texte) {
+        EtiquetteGraduation etiquette = reserveEtiquettes.get(texte);
+        if (etiquette == null) {
+            etiquette = new EtiquetteGraduation(texte, getTailleCaracteres());
+            reserveEtiquettes.put(texte, etiquette);
+        }
+        return etiquette;
     }
 
     /**
@@ -182,47 +248,6 @@ abstract class Axe extends Forme {
     protected abstract double[] valeursSansZero(@NotNull final Repere repere, 
             @NotNull final double[] valeurs);
 
-    /**
-     * Retire les étiquettes de cet axe dont les valeurs ne sont pas comprises
-     * parmi un ensemble défini.
-     *
-     * @param valeurs l'ensemble des valeurs que peuvent prendre les étiquettes.
-     */
-    protected void retirerEtiquettesObsoletes(final double[] valeurs) {
-        final Iterator<Double> iteration = etiquettes.keySet().iterator();
-        while (iteration.hasNext()) {
-            final double cle = iteration.next();
-            boolean contientCle = false;
-            for (final double valeur : valeurs) {
-                if (valeur == cle) {
-                    contientCle = true;
-                    break;
-                }
-            }
-            if (!contientCle) {
-                iteration.remove();
-            }
-        }
-    }
-
-    /**
-     * Ajoute des étiquettes de graduation d'axe selon un ensemble de valeurs à
-     * afficher.
-     *
-     * @param valeurs l'ensemble des valeurs à afficher sur l'axe.
-     * @param format le format des étiquettes.
-     */
-    protected void ajouterEtiquettes(final double[] valeurs,
-            final String format) {
-        for (final double valeur : valeurs) {
-            if (!etiquettes.containsKey(valeur)) {
-                final Etiquette etiquette = new Etiquette(String.format(format,
-                        valeur), tailleCaracteres);
-                etiquettes.put(valeur, etiquette);
-            }
-        }
-    }
-
     public int getTailleGraduation() {
         return TAILLE_GRADUATION.getValue();
     }
@@ -17,7 +17,6 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
-import java.util.Iterator;
 import java.util.Map;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -47,9 +46,6 @@ public class AxeHorizontal extends Axe {
     @Override
     public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        if (isEnSurvol()) {
-            dessinerSurvol(toile, repere);
-        }
         final double[] graduationsVerticales = repere
                 .graduationsVerticales(toile.getWidth(), getEspacement());
         final double[] abscissesReelles = repere.abscissesReelles(
@@ -64,10 +60,7 @@ public class AxeHorizontal extends Axe {
         dessinerGraduations(toile, graduationsVerticales,
                 positionVirtuelleAxe(toile, repere));
         fleche.dessiner(toile, repere);
-        actualiserPositionEtiquettes(toile, repere);
-        etiquettes.values().forEach((etiquette) -> {
-            etiquette.dessiner(toile, repere);
-        });
+        dessinerEtiquettes(toile, repere);
     }
 
     @Override
@@ -97,13 +90,15 @@ public class AxeHorizontal extends Axe {
             @NotNull final double[] valeursVirtuelles,
             final double positionAxe) {
         final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setStroke(Color.BLACK);
-        contexteGraphique.setLineWidth(1);
+        EtatGraphique.de(toile).definirTrait(Color.BLACK, 1);
+        contexteGraphique.beginPath();
         for (final double abscisseVirtuelle : valeursVirtuelles) {
-            contexteGraphique.strokeLine(
-                    abscisseVirtuelle, positionAxe + getTailleGraduation(),
-                    abscisseVirtuelle, positionAxe - getTailleGraduation());
+            contexteGraphique.moveTo(abscisseVirtuelle,
+                    positionAxe + getTailleGraduation());
+            contexteGraphique.lineTo(abscisseVirtuelle,
+                    positionAxe - getTailleGraduation());
         }
+        contexteGraphique.stroke();
     }
 
     /**
@@ -118,32 +113,27 @@ public class AxeHorizontal extends Axe {
     }
     
     /**
-     * Actualise la position des étiquettes de cet axe.
+     * Positionne puis dessine les étiquettes de cet axe en un seul parcours.
      *
      * @param toile la toile affichant cet axe.
      * @param repere le repère de l'espace à graduer.
      */
-    private void actualiserPositionEtiquettes(@NotNull final Canvas toile,
+    private void dessinerEtiquettes(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
         positionVirtuelle = positionVirtuelleAxe(toile, repere);
-        final Iterator<Map.Entry<Double, Etiquette>> iteration = etiquettes
-                .entrySet().iterator();
-        while (iteration.hasNext()) {
-            final Map.Entry<Double, Etiquette> entree = iteration.next();
-            final double valeur = entree.getKey();
-            final Etiquette etiquette = entree.getValue();
-            etiquette.setPositionAncrage(new PositionReelle(
-                    new Vector2D(valeur, positionReelleAxe(toile, repere))));
+        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
+        for (final Map.Entry<Double, EtiquetteGraduation> entree
+                : etiquettes.entrySet()) {
+            final EtiquetteGraduation etiquette = entree.getValue();
+            final double abscisse = repere.abscisseVirtuelle(entree.getKey())
+                    - etiquette.getLargeur() / 2;
             if (positionVirtuelle >= toile.getHeight()
                     - etiquette.getHauteur() - 2 * MARGE) {
-                etiquette.setPositionRelative(new Vector2D(
-                        -etiquette.getLargeur() / 2,
-                        toile.getHeight() - positionVirtuelle
-                        - etiquette.getHauteur() - MARGE));
+                etiquette.dessiner(contexteGraphique, abscisse,
+                        toile.getHeight() - etiquette.getHauteur() - MARGE);
             } else {
-                etiquette.setPositionRelative(new Vector2D(
-                        -etiquette.getLargeur() / 2, 
-                        MARGE));
+                etiquette.dessiner(contexteGraphique, abscisse,
+                        positionVirtuelle + MARGE);
             }
         }
     }
@@ -17,7 +17,6 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
-import java.util.Iterator;
 import java.util.Map;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -47,9 +46,6 @@ public class AxeVertical extends Axe {
     @Override
     public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        if (isEnSurvol()) {
-            dessinerSurvol(toile, repere);
-        }
         final double[] graduationsHorizontales = repere
                 .graduationsHorizontales(toile.getHeight(), getEspacement());
         final double[] ordonneesReelles = repere.ordonneesReellees(
@@ -63,10 +59,7 @@ public class AxeVertical extends Axe {
         dessinerGraduations(toile, graduationsHorizontales,
                 positionVirtuelleAxe(toile, repere));
         fleche.dessiner(toile, repere);
-        actualiserPositionEtiquettes(toile, repere);
-        etiquettes.values().forEach((etiquette) -> {
-            etiquette.dessiner(toile, repere);
-        });
+        dessinerEtiquettes(toile, repere);
     }
 
     @Override
@@ -96,13 +89,15 @@ public class AxeVertical extends Axe {
             @NotNull final double[] valeursVirtuelles,
             final double positionAxe) {
         final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setStroke(Color.BLACK);
-        contexteGraphique.setLineWidth(1);
+        EtatGraphique.de(toile).definirTrait(Color.BLACK, 1);
+        contexteGraphique.beginPath();
         for (final double ordonneeVirtuelle : valeursVirtuelles) {
-            contexteGraphique.strokeLine(
-                    positionAxe + getTailleGraduation(), ordonneeVirtuelle,
-                    positionAxe - getTailleGraduation(), ordonneeVirtuelle);
+            contexteGraphique.moveTo(positionAxe + getTailleGraduation(),
+                    ordonneeVirtuelle);
+            contexteGraphique.lineTo(positionAxe - getTailleGraduation(),
+                    ordonneeVirtuelle);
         }
+        contexteGraphique.stroke();
     }
 
     /**
@@ -117,32 +112,28 @@ public class AxeVertical extends Axe {
     }
 
     /**
-     * Actualise la position des étiquettes de cet axe.
+     * Positionne puis dessine les étiquettes de cet axe en un seul parcours.
      *
      * @param toile la toile affichant cet axe.
      * @param repere le repère de l'espace à graduer.
      */
-    private void actualiserPositionEtiquettes(@NotNull final Canvas toile,
+    private void dessinerEtiquettes(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        final double abscisseReelleAxe = positionReelleAxe(toile, repere);
         positionVirtuelle = positionVirtuelleAxe(toile, repere);
-        final Iterator<Map.Entry<Double, Etiquette>> iteration = etiquettes
-                .entrySet().iterator();
-        while (iteration.hasNext()) {
-            final Map.Entry<Double, Etiquette> entree = iteration.next();
-            final double valeur = entree.getKey();
-            final Etiquette etiquette = entree.getValue();
-            etiquette.setPositionAncrage(new PositionReelle(
-                    new Vector2D(abscisseReelleAxe, valeur)));
+        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
+        for (final Map.Entry<Double, EtiquetteGraduation> entree
+                : etiquettes.entrySet()) {
+            final EtiquetteGraduation etiquette = entree.getValue();
+            final double ordonnee = repere.ordonneeVirtuelle(entree.getKey())
+                    - etiquette.getHauteur() / 2;
             if (positionVirtuelle >= toile.getWidth()
                     - etiquette.getLargeur() - 2 * MARGE) {
-                etiquette.setPositionRelative(new Vector2D(
-                        toile.getWidth() - positionVirtuelle
-                        - etiquette.getLargeur() - MARGE,
-                        -etiquette.getHauteur() / 2));
+                etiquette.dessiner(contexteGraphique,
+                        toile.getWidth() - etiquette.getLargeur() - MARGE,
+                        ordonnee);
             } else {
-                etiquette.setPositionRelative(new Vector2D(
-                        MARGE, -etiquette.getHauteur() / 2));
+                etiquette.dessiner(contexteGraphique,
+                        positionVirtuelle + MARGE, ordonnee);
             }
         }
     }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.util.Objects;
+import org.graphysica.util.CacheLRU;
+import org.scilab.forge.jlatexmath.TeXConstants;
+import org.scilab.forge.jlatexmath.TeXFormula;
+import org.scilab.forge.jlatexmath.TeXIcon;
+
+/**
+ * La cache des icônes de formules TeX partagée par toutes les étiquettes. Une
+ * icône est construite une seule fois pour un même texte, une même taille et
+ * un même style, de telle sorte que les étiquettes de graduation qui
+ * réapparaissent lors du défilement d'un axe ne provoquent pas une nouvelle
+ * analyse de leur formule.
+ * <p>
+ * Les icônes partagées ne doivent pas être modifiées par les étiquettes. La
+ * cache peut être consultée à partir de plusieurs fils d'exécution. Les
+ * icônes sont construites une à la fois sous un verrou de construction
+ * distinct, puisque l'analyse des formules modifie l'état statique de
+ * jlatexmath. Une formule manquante est ainsi analysée une seule fois, et la
+ * consultation par {@link #iconeEnCache(String, int, int)} n'attend jamais
+ * la fin d'une analyse.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public final class CacheIcones {
+
+    /**
+     * La capacité de la cache des icônes.
+     */
+    private static final int CAPACITE = 512;
+
+    /**
+     * La largeur maximale des icônes exprimée en points.
+     */
+    private static final int LARGEUR_MAXIMALE = 100;
+
+    /**
+     * Les icônes construites, associées à leur texte, leur taille et leur
+     * style.
+     */
+    private static final CacheLRU<Cle, TeXIcon> ICONES
+            = new CacheLRU<>(CAPACITE);
+
+    /**
+     * Le verrou de construction des icônes.
+     */
+    private static final Object VERROU_CONSTRUCTION = new Object();
+
+    static {
+        TeXFormula.setDefaultDPI();
+    }
+
+    private CacheIcones() {
+    }
+
+    /**
+     * Récupère l'icône d'une formule TeX. L'icône est construite et mise en
+     * cache si elle n'a pas déjà été construite. La consultation et la
+     * construction sont effectuées sous le verrou de construction.
+     *
+     * @param texte le texte de la formule.
+     * @param taille la taille des caractères de la formule exprimée en
+     * points.
+     * @param style le style de la formule.
+     * @return l'icône de la formule.
+     * @see TeXConstants
+     */
+    static TeXIcon icone(@NotNull final String texte, final int taille,
+            final int style) {
+        final Cle cle = new Cle(texte, taille, style);
+        synchronized (VERROU_CONSTRUCTION) {
+            TeXIcon icone;
+            synchronized (ICONES) {
+                icone = ICONES.get(cle);
+            }
+            if (icone == null) {
+                icone = construireIcone(texte, taille, style);
+                synchronized (ICONES) {
+                    ICONES.put(cle, icone);
+                }
+            }
+            return icone;
+        }
+    }
+
+    /**
+     * Récupère l'icône d'une formule TeX si elle a déjà été construite.
+     *
+     * @param texte le texte de la formule.
+     * @param taille la taille des caractères de la formule exprimée en
+     * points.
+     * @param style le style de la formule.
+     * @return l'icône de la formule, ou {@code null} si elle n'est pas en
+     * cache.
+     */
+    static TeXIcon iconeEnCache(@NotNull final String texte, final int taille,
+            final int style) {
+        synchronized (ICONES) {
+            return ICONES.get(new Cle(texte, taille, style));
+        }
+    }
+
+    /**
+     * Construit l'icône d'une formule TeX.
+     *
+     * @param texte le texte de la formule.
+     * @param taille la taille des caractères de la formule.
+     * @param style le style de la formule.
+     * @return l'icône construite.
+     */
+    private static TeXIcon construireIcone(@NotNull final String texte,
+            final int taille, final int style) {
+        final TeXFormula formule = new TeXFormula(texte);
+        return formule.new TeXIconBuilder()
+                .setStyle(style)
+                .setSize(taille)
+                .setWidth(TeXConstants.UNIT_POINT, LARGEUR_MAXIMALE,
+                        TeXConstants.ALIGN_LEFT)
+                .setIsMaxWidth(true).build();
+    }
+
+    /**
+     * Récupère le nombre de consultations de la cache qui ont trouvé une
+     * icône déjà construite.
+     *
+     * @return le nombre de succès de la cache.
+     */
+    public static long getSucces() {
+        synchronized (ICONES) {
+            return ICONES.getSucces();
+        }
+    }
+
+    /**
+     * Récupère le nombre de consultations de la cache qui ont nécessité la
+     * construction d'une icône.
+     *
+     * @return le nombre d'échecs de la cache.
+     */
+    public static long getEchecs() {
+        synchronized (ICONES) {
+            return ICONES.getEchecs();
+        }
+    }
+
+    /**
+     * Récupère le nombre d'icônes retirées de la cache faute de capacité.
+     *
+     * @return le nombre de retraits de la cache.
+     */
+    public static long getRetraits() {
+        synchronized (ICONES) {
+            return ICONES.getRetraits();
+        }
+    }
+
+    /**
+     * Une clé de la cache des icônes, définie par le texte, la taille et le
+     * style d'une formule.
+     */
+    private static final class Cle {
+
+        /**
+         * Le texte de la formule.
+         */
+        private final String texte;
+
+        /**
+         * La taille des caractères de la formule.
+         */
+        private final int taille;
+
+        /**
+         * Le style de la formule.
+         */
+        private final int style;
+
+        /**
+         * Construit une clé de la cache des icônes.
+         *
+         * @param texte le texte de la formule.
+         * @param taille la taille des caractères de la formule.
+         * @param style le style de la formule.
+         */
+        private Cle(@NotNull final String texte, final int taille,
+                final int style) {
+            this.texte = texte;
+            this.taille = taille;
+            this.style = style;
+        }
+
+        @Override
+        public boolean equals(final Object objet) {
+            if (this == objet) {
+                return true;
+            }
+            if (!(objet instanceof Cle)) {
+                return false;
+            }
+            final Cle cle = (Cle) objet;
+            return taille == cle.taille && style == cle.style
+                    && texte.equals(cle.texte);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(texte, taille, style);
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Objects;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.graphysica.util.CacheLRU;
+import org.scilab.forge.jlatexmath.TeXIcon;
+
+/**
+ * La cache des images rendues des étiquettes. Le texte d'une étiquette est
+ * rendu une seule fois pour un même texte, une même taille et une même
+ * couleur, puis l'image est copiée sur la toile à chaque dessin plutôt que de
+ * redessiner les glyphes de la formule. La cache est bornée selon la mémoire
+ * occupée par ses images.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class CacheImagesEtiquettes {
+
+    /**
+     * La mémoire maximale occupée par les images de la cache, exprimée en
+     * octets.
+     */
+    private static final long MEMOIRE_MAXIMALE = 32 * 1024 * 1024;
+
+    /**
+     * Le nombre maximal de pixels d'une image d'étiquette. Les étiquettes plus
+     * grandes sont dessinées directement sur la toile.
+     */
+    private static final long PIXELS_MAXIMAUX = 512 * 512;
+
+    /**
+     * Le nombre d'octets occupés par un pixel d'image.
+     */
+    private static final int OCTETS_PAR_PIXEL = 4;
+
+    /**
+     * Les images rendues des étiquettes, associées à leur texte, leur taille
+     * et leur couleur.
+     */
+    private static final CacheLRU<Cle, Image> IMAGES = new CacheLRU<>(
+            MEMOIRE_MAXIMALE, (image) -> (long) image.getWidth()
+            * (long) image.getHeight() * OCTETS_PAR_PIXEL);
+
+    private CacheImagesEtiquettes() {
+    }
+
+    /**
+     * Récupère l'image rendue d'une étiquette. L'image est rendue et mise en
+     * cache si elle n'a pas déjà été rendue.
+     *
+     * @param icone l'icône de la formule de l'étiquette.
+     * @param texte le texte de l'étiquette.
+     * @param taille la taille des caractères de l'étiquette.
+     * @param couleur la couleur du texte de l'étiquette.
+     * @return l'image de l'étiquette, ou {@code null} si l'étiquette est trop
+     * grande pour être rendue en image.
+     */
+    static Image image(@NotNull final TeXIcon icone,
+            @NotNull final String texte, final int taille,
+            @NotNull final Color couleur) {
+        final long pixels = (long) icone.getIconWidth()
+                * icone.getIconHeight();
+        if (pixels <= 0 || pixels > PIXELS_MAXIMAUX) {
+            return null;
+        }
+        final Cle cle = new Cle(texte, taille, couleur);
+        Image image = IMAGES.get(cle);
+        if (image == null) {
+            image = rendreImage(icone, couleur);
+            IMAGES.put(cle, image);
+        }
+        return image;
+    }
+
+    /**
+     * Peint l'icône d'une formule d'une couleur définie. La couleur est
+     * assignée à l'icône elle-même, puisque l'icône peinte sans composant
+     * ignore la couleur du contexte graphique. Les icônes étant partagées
+     * entre les étiquettes et peintes par plusieurs fils, l'assignation et la
+     * peinture sont faites sous le verrou de l'icône.
+     * <p>
+     * Tous les chemins de dessin d'une étiquette passent par cette méthode :
+     * l'image mise en cache, le dessin direct des grandes étiquettes et la
+     * trace rastérisée en arrière-plan.
+     *
+     * @param icone l'icône de la formule.
+     * @param graphique le contexte graphique sur lequel peindre l'icône.
+     * @param couleur la couleur du texte.
+     * @param abscisse l'abscisse du coin supérieur gauche de l'icône.
+     * @param ordonnee l'ordonnée du coin supérieur gauche de l'icône.
+     */
+    static void peindre(@NotNull final TeXIcon icone,
+            @NotNull final Graphics2D graphique,
+            @NotNull final java.awt.Color couleur, final int abscisse,
+            final int ordonnee) {
+        synchronized (icone) {
+            icone.setForeground(couleur);
+            icone.paintIcon(null, graphique, abscisse, ordonnee);
+        }
+    }
+
+    /**
+     * Rend l'icône d'une formule en une image de couleur définie. L'icône est
+     * peinte de sa couleur et lissée dans une image à transparence
+     * prémultipliée.
+     *
+     * @param icone l'icône de la formule.
+     * @param couleur la couleur du texte.
+     * @return l'image rendue.
+     */
+    private static Image rendreImage(@NotNull final TeXIcon icone,
+            @NotNull final Color couleur) {
+        final int largeur = icone.getIconWidth();
+        final int hauteur = icone.getIconHeight();
+        final BufferedImage tampon = new BufferedImage(largeur, hauteur,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        final Graphics2D graphique = tampon.createGraphics();
+        try {
+            graphique.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            graphique.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphique.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS,
+                    RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            peindre(icone, graphique, Forme.couleurAwt(couleur), 0, 0);
+        } finally {
+            graphique.dispose();
+        }
+        final int[] pixels = ((DataBufferInt) tampon.getRaster()
+                .getDataBuffer()).getData();
+        final WritableImage image = new WritableImage(largeur, hauteur);
+        image.getPixelWriter().setPixels(0, 0, largeur, hauteur,
+                PixelFormat.getIntArgbPreInstance(), pixels, 0, largeur);
+        return image;
+    }
+
+    /**
+     * Une clé de la cache des images, définie par le texte, la taille et la
+     * couleur d'une étiquette.
+     */
+    private static final class Cle {
+
+        /**
+         * Le texte de l'étiquette.
+         */
+        private final String texte;
+
+        /**
+         * La taille des caractères de l'étiquette.
+         */
+        private final int taille;
+
+        /**
+         * La couleur du texte de l'étiquette.
+         */
+        private final Color couleur;
+
+        /**
+         * Construit une clé de la cache des images.
+         *
+         * @param texte le texte de l'étiquette.
+         * @param taille la taille des caractères de l'étiquette.
+         * @param couleur la couleur du texte de l'étiquette.
+         */
+        private Cle(@NotNull final String texte, final int taille,
+                @NotNull final Color couleur) {
+            this.texte = texte;
+            this.taille = taille;
+            this.couleur = couleur;
+        }
+
+        @Override
+        public boolean equals(final Object objet) {
+            if (this == objet) {
+                return true;
+            }
+            if (!(objet instanceof Cle)) {
+                return false;
+            }
+            final Cle cle = (Cle) objet;
+            return taille == cle.taille && texte.equals(cle.texte)
+                    && couleur.equals(cle.couleur);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(texte, taille, couleur);
+        }
+
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import org.graphysica.espace2d.Repere;
 
@@ -36,4 +37,16 @@ interface Dessinable {
      */
     void dessiner(@NotNull final Canvas toile, @NotNull final Repere repere);
 
+    /**
+     * Calcule les limites virtuelles de l'objet dessiné sur une toile. Les
+     * limites forment le plus petit rectangle qui contient l'ensemble du
+     * dessin de l'objet dans son état normal.
+     *
+     * @param toile la toile sur laquelle l'objet est dessiné.
+     * @param repere le repère de l'espace.
+     * @return les limites virtuelles de l'objet.
+     */
+    Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere);
+
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.util.Arrays;
+import java.util.Comparator;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * L'état graphique d'une toile filtre les changements d'état de son contexte
+ * graphique. La couleur du trait, la couleur du remplissage, l'épaisseur du
+ * trait et les tirets ne sont réassignés que s'ils diffèrent de l'état
+ * actuel du contexte, ce qui évite d'ajouter des commandes inutiles au
+ * tampon de rendu de la toile. L'état est comparé à celui du contexte
+ * lui-même, de telle sorte que les modifications faites directement sur le
+ * contexte soient prises en compte.
+ * <p>
+ * L'état graphique est conservé dans les propriétés de la toile pour être
+ * partagé par toutes les formes qui y sont dessinées. Il compte les
+ * changements d'état effectués et évités depuis le début de l'image en cours.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public final class EtatGraphique {
+
+    /**
+     * La clé des propriétés d'une toile associée à l'état graphique de la
+     * toile.
+     */
+    private static final String CLE_ETAT = "etatgraphique";
+
+    /**
+     * L'ordre des formes selon l'état graphique dans lequel elles sont
+     * dessinées : les composantes rouge, verte, bleue et alpha de leur
+     * couleur, puis l'épaisseur de leur trait. Les formes de même état sont
+     * ainsi contiguës une fois triées.
+     */
+    public static final Comparator<Forme> ORDRE_ETAT = Comparator
+            .comparingDouble((Forme forme) -> composante(forme, 0))
+            .thenComparingDouble((forme) -> composante(forme, 1))
+            .thenComparingDouble((forme) -> composante(forme, 2))
+            .thenComparingDouble((forme) -> composante(forme, 3))
+            .thenComparingDouble(EtatGraphique::epaisseur);
+
+    /**
+     * Le contexte graphique de la toile.
+     */
+    private final GraphicsContext contexteGraphique;
+
+    /**
+     * Le nombre de changements d'état effectués depuis le début de l'image en
+     * cours.
+     */
+    private long changementsEffectues = 0;
+
+    /**
+     * Le nombre de changements d'état évités depuis le début de l'image en
+     * cours.
+     */
+    private long changementsEvites = 0;
+
+    /**
+     * Construit l'état graphique d'un contexte graphique.
+     *
+     * @param contexteGraphique le contexte graphique de la toile.
+     */
+    private EtatGraphique(@NotNull final GraphicsContext contexteGraphique) {
+        this.contexteGraphique = contexteGraphique;
+    }
+
+    /**
+     * Récupère l'état graphique d'une toile. L'état est instancié à la
+     * première récupération, puis conservé dans les propriétés de la toile.
+     *
+     * @param toile la toile de dessin.
+     * @return l'état graphique de la toile.
+     */
+    public static EtatGraphique de(@NotNull final Canvas toile) {
+        EtatGraphique etat = (EtatGraphique) toile.getProperties()
+                .get(CLE_ETAT);
+        if (etat == null) {
+            etat = new EtatGraphique(toile.getGraphicsContext2D());
+            toile.getProperties().put(CLE_ETAT, etat);
+        }
+        return etat;
+    }
+
+    /**
+     * Récupère une composante de la couleur d'une forme.
+     *
+     * @param forme la forme.
+     * @param indice l'indice de la composante : 0 pour le rouge, 1 pour le
+     * vert, 2 pour le bleu et 3 pour l'opacité.
+     * @return la composante, ou -1 si la forme n'a pas de couleur.
+     */
+    private static double composante(@NotNull final Forme forme,
+            final int indice) {
+        final Color couleur = forme.getCouleur();
+        if (couleur == null) {
+            return -1;
+        }
+        switch (indice) {
+            case 0:
+                return couleur.getRed();
+            case 1:
+                return couleur.getGreen();
+            case 2:
+                return couleur.getBlue();
+            default:
+                return couleur.getOpacity();
+        }
+    }
+
+    /**
+     * Récupère l'épaisseur du trait d'une forme.
+     *
+     * @param forme la forme.
+     * @return l'épaisseur du trait de la forme si c'est une ligne, 0 sinon.
+     */
+    private static double epaisseur(@NotNull final Forme forme) {
+        return forme instanceof Ligne ? ((Ligne) forme).getEpaisseur() : 0;
+    }
+
+    /**
+     * Commence une nouvelle image en réinitialisant les compteurs de
+     * changements d'état.
+     */
+    public void commencerImage() {
+        changementsEffectues = 0;
+        changementsEvites = 0;
+    }
+
+    /**
+     * Définit la couleur et l'épaisseur du trait du contexte graphique.
+     *
+     * @param couleur la couleur du trait.
+     * @param epaisseur l'épaisseur du trait.
+     */
+    public void definirTrait(@NotNull final Paint couleur,
+            final double epaisseur) {
+        if (compter(!couleur.equals(contexteGraphique.getStroke()))) {
+            contexteGraphique.setStroke(couleur);
+        }
+        if (compter(contexteGraphique.getLineWidth() != epaisseur)) {
+            contexteGraphique.setLineWidth(epaisseur);
+        }
+    }
+
+    /**
+     * Définit la couleur du remplissage du contexte graphique.
+     *
+     * @param couleur la couleur du remplissage.
+     */
+    public void definirRemplissage(@NotNull final Paint couleur) {
+        if (compter(!couleur.equals(contexteGraphique.getFill()))) {
+            contexteGraphique.setFill(couleur);
+        }
+    }
+
+    /**
+     * Définit les tirets du trait du contexte graphique. Un trait continu n'a
+     * aucun tiret.
+     *
+     * @param tirets les longueurs alternées des tirets et des espaces.
+     */
+    public void definirTirets(@NotNull final double... tirets) {
+        final double[] tiretsActuels = contexteGraphique.getLineDashes();
+        final boolean continu = tirets.length == 0;
+        final boolean continuActuel = tiretsActuels == null
+                || tiretsActuels.length == 0;
+        if (compter(continu ? !continuActuel
+                : !Arrays.equals(tirets, tiretsActuels))) {
+            contexteGraphique.setLineDashes(continu ? null : tirets);
+        }
+    }
+
+    /**
+     * Compte un changement d'état effectué ou évité.
+     *
+     * @param changement si l'état doit être changé.
+     * @return {@code changement}.
+     */
+    private boolean compter(final boolean changement) {
+        if (changement) {
+            changementsEffectues++;
+        } else {
+            changementsEvites++;
+        }
+        return changement;
+    }
+
+    public GraphicsContext getContexteGraphique() {
+        return contexteGraphique;
+    }
+
+    public long getChangementsEffectues() {
+        return changementsEffectues;
+    }
+
+    public long getChangementsEvites() {
+        return changementsEvites;
+    }
+
+}
@@ -17,31 +17,39 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import java.awt.geom.AffineTransform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.apache.commons.math3.geometry.euclidean.twod.Segment;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.rendu.Trace;
 import static org.graphysica.espace2d.position.Type.VIRTUELLE;
 import org.jfree.fx.FXGraphics2D;
 import org.scilab.forge.jlatexmath.TeXConstants;
-import org.scilab.forge.jlatexmath.TeXFormula;
-import org.scilab.forge.jlatexmath.TeXFormula.TeXIconBuilder;
 import org.scilab.forge.jlatexmath.TeXIcon;
 
 /**
  * Une étiquette permet d'afficher du texte en format TeX à une position
  * relative d'une position d'ancrage.
+ * <p>
+ * La mise en page de la formule TeX est effectuée en arrière-plan. Jusqu'à ce
+ * que l'icône de la nouvelle formule soit prête, l'étiquette conserve l'icône
+ * de sa dernière formule mise en page. Les mises en page demandées avant une
+ * modification plus récente du texte ou de la taille sont ignorées.
  *
  * @author Marc-Antoine Ouimet
  */
@@ -59,9 +67,38 @@ public class Etiquette extends Forme {
     private final StringProperty texte = new SimpleStringProperty();
 
     /**
-     * L'icône de la formule TeX.
+     * Le style des formules TeX des étiquettes.
      */
-    private TeXIcon icone;
+    private static final int STYLE = TeXConstants.STYLE_DISPLAY;
+
+    /**
+     * L'icône de la dernière formule TeX mise en page.
+     */
+    private final ObjectProperty<TeXIcon> icone = new SimpleObjectProperty<>();
+
+    /**
+     * Le texte de la formule de l'icône.
+     */
+    private String texteIcone;
+
+    /**
+     * La taille des caractères de la formule de l'icône.
+     */
+    private int tailleIcone;
+
+    /**
+     * La version de la dernière mise en page demandée. Une mise en page
+     * terminée n'est appliquée que si sa version est la plus récente.
+     */
+    private long versionDemandee = 0;
+
+    /**
+     * L'image rendue de l'étiquette. Elle est retirée lorsque l'icône ou la
+     * couleur de l'étiquette est modifiée.
+     *
+     * @see CacheImagesEtiquettes
+     */
+    private Image image;
 
     /**
      * L'événement de reconstruction de l'icône de la formule. L'icône de la
@@ -70,7 +107,7 @@ public class Etiquette extends Forme {
      */
     private final InvalidationListener reconstruireIcone
             = (@NotNull final Observable observable) -> {
-                construireIcone();
+                demanderIcone();
             };
 
     /**
@@ -93,19 +130,11 @@ public class Etiquette extends Forme {
             = new SimpleObjectProperty<>(new Vector2D(5, -25));
 
     /**
-     * Le dernier contexte graphique de dessin de cette étiquette. Il est
-     * modifié lorsqu'un nouvel appel de dessin de cette étiquette est effectué
-     * à partir d'un autre contexte graphique.
-     */
-    private GraphicsContext dernierContexteGraphique;
-
-    /**
-     * Le contexte graphique adapté du {@code dernierContexteGraphique}. Il est
-     * modifié si {@code dernierContexteGraphique} est modifié. Il permet
-     * d'empêcher qu'un contexte graphique adaptif à Swing soit instancié à
-     * chaque dessin de l'étiquette.
+     * La clé des propriétés d'une toile associée au contexte graphique adapté
+     * à Swing de la toile. Ce contexte est partagé par toutes les étiquettes
+     * dessinées sur la toile.
      */
-    private FXGraphics2D contexteGraphique;
+    private static final String CLE_CONTEXTE_SWING = "etiquette.contexteswing";
 
     /**
      * Construit une étiquette dont le texte est défini.
@@ -219,82 +248,175 @@ public class Etiquette extends Forme {
         couleurProperty().bind(couleur);
     }
 
-    static {
-        TeXFormula.setDefaultDPI();
-    }
-
     {
         proprietes.add(texte);
         proprietes.add(tailleCaracteres);
         proprietes.add(positionAncrage);
         proprietes.add(positionRelative);
+        proprietes.add(icone);
         texte.addListener(reconstruireIcone);
         tailleCaracteres.addListener(reconstruireIcone);
+        couleurProperty().addListener((observable) -> {
+            image = null;
+        });
     }
 
     /**
-     * Actualise le contexte graphique de dessin de cette étiquette.
+     * Récupère le contexte graphique adapté à Swing d'une toile. Le contexte
+     * est instancié au premier dessin d'une étiquette sur la toile, puis
+     * conservé dans les propriétés de la toile pour être réutilisé par toutes
+     * les étiquettes qui y sont dessinées. Sa transformation est réinitialisée
+     * à chaque récupération.
      *
-     * @param toile la toile de prochain dessin de cette étiquette.
+     * @param toile la toile de dessin.
+     * @return le contexte graphique adapté à Swing de la toile.
      */
-    private void actualiserContexteGraphique(@NotNull final Canvas toile) {
-        if (contexteGraphique == null
-                || dernierContexteGraphique != toile.getGraphicsContext2D()) {
-            toile.getGraphicsContext2D().setFill(getCouleur());
-            contexteGraphique = new FXGraphics2D(toile.getGraphicsContext2D());
+    private static FXGraphics2D contexteSwing(@NotNull final Canvas toile) {
+        FXGraphics2D contexteSwing = (FXGraphics2D) toile.getProperties()
+                .get(CLE_CONTEXTE_SWING);
+        if (contexteSwing == null) {
+            contexteSwing = new FXGraphics2D(toile.getGraphicsContext2D());
+            toile.getProperties().put(CLE_CONTEXTE_SWING, contexteSwing);
+        } else {
+            contexteSwing.setTransform(new AffineTransform());
         }
+        return contexteSwing;
     }
 
+    /**
+     * Dessine l'étiquette en copiant son image rendue sur la toile. Une
+     * étiquette trop grande pour être rendue en image est dessinée directement
+     * à partir de son icône. Rien n'est dessiné tant que la première mise en
+     * page de l'étiquette n'est pas terminée, ni lorsque le niveau de
+     * détail de la toile masque les étiquettes.
+     *
+     * @param toile la toile sur laquelle dessiner l'étiquette.
+     * @param repere le repère de l'espace.
+     */
     @Override
     public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        actualiserContexteGraphique(toile);
-        if (icone == null) {
-            construireIcone();
+        final TeXIcon icone = getIcone();
+        if (icone == null || !NiveauDetail.de(toile).isEtiquettesAffichees()) {
+            return;
+        }
+        if (image == null) {
+            image = CacheImagesEtiquettes.image(icone, texteIcone, tailleIcone,
+                    getCouleur());
         }
         final Vector2D position = coinSuperieurGauche(repere).virtuelle(repere);
-        contexteGraphique.setColor(couleur());
-        icone.paintIcon(null, contexteGraphique,
-                (int) (position.getX()), (int) (position.getY()));
-        if (isEnSurvol()) {
-            dessinerSurvol(toile, repere);
+        if (image != null) {
+            toile.getGraphicsContext2D().drawImage(image,
+                    (int) (position.getX()), (int) (position.getY()));
+            return;
         }
+        CacheImagesEtiquettes.peindre(icone, contexteSwing(toile),
+                couleurAwt(getCouleur()), (int) (position.getX()),
+                (int) (position.getY()));
+    }
+
+    /**
+     * Construit la trace de l'étiquette, qui peint l'icône de sa formule. La
+     * trace ne dessine rien tant que la première mise en page de l'étiquette
+     * n'est pas terminée, ni lorsque le niveau de détail de la toile masque
+     * les étiquettes.
+     *
+     * @param toile la toile sur laquelle l'étiquette serait dessinée.
+     * @param repere le repère de l'espace.
+     * @return la trace de l'étiquette.
+     */
+    @Override
+    public Trace trace(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        final TeXIcon icone = getIcone();
+        if (icone == null || !NiveauDetail.de(toile).isEtiquettesAffichees()) {
+            return Trace.AUCUNE;
+        }
+        final Vector2D position = coinSuperieurGauche(repere).virtuelle(repere);
+        final int abscisse = (int) position.getX();
+        final int ordonnee = (int) position.getY();
+        final java.awt.Color couleur = couleurAwt(getCouleur());
+        return (graphiques) -> {
+            CacheImagesEtiquettes.peindre(icone, graphiques, couleur, abscisse,
+                    ordonnee);
+        };
     }
 
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
+        if (getIcone() == null) {
+            return;
+        }
         final Vector2D coinSuperieurGauche = coinSuperieurGauche(repere)
                 .virtuelle(repere);
         final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setStroke(getCouleur().deriveColor(0, 0, 0, 0.1));
-        contexteGraphique.setLineWidth(1);
+        EtatGraphique.de(toile).definirTrait(
+                getCouleur().deriveColor(0, 0, 0, 0.1), 1);
         contexteGraphique.strokeRoundRect(coinSuperieurGauche.getX(),
                 coinSuperieurGauche.getY(), getLargeur(), getHauteur(), 5, 5);
     }
 
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        if (getIcone() == null) {
+            return Rectangle2D.EMPTY;
+        }
+        final Vector2D coinSuperieurGauche = coinSuperieurGauche(repere)
+                .virtuelle(repere);
+        return new Rectangle2D(coinSuperieurGauche.getX(),
+                coinSuperieurGauche.getY(), getLargeur(), getHauteur());
+    }
+
     /**
-     * Construit l'icône de la formule TeX à partir du texte.
+     * Demande l'icône de la formule TeX du texte. L'icône est appliquée
+     * immédiatement si elle se trouve dans la cache des icônes, sinon sa mise
+     * en page est effectuée en arrière-plan.
+     *
+     * @see CacheIcones
+     * @see MiseEnPageEtiquettes
      */
-    private void construireIcone() {
-        final TeXFormula formule = new TeXFormula(getTexte());
-        icone = formule.new TeXIconBuilder()
-                .setStyle(TeXConstants.STYLE_DISPLAY)
-                .setSize(getTailleCaractere())
-                .setWidth(TeXConstants.UNIT_POINT, 100, TeXConstants.ALIGN_LEFT)
-                .setIsMaxWidth(true).build();
+    private void demanderIcone() {
+        final long version = ++versionDemandee;
+        final String texteDemande = getTexte();
+        final int tailleDemandee = getTailleCaractere();
+        if (texteDemande == null) {
+            return;
+        }
+        final TeXIcon iconeEnCache = CacheIcones.iconeEnCache(texteDemande,
+                tailleDemandee, STYLE);
+        if (iconeEnCache != null) {
+            appliquerIcone(version, texteDemande, tailleDemandee,
+                    iconeEnCache);
+        } else {
+            MiseEnPageEtiquettes.demander(this, texteDemande, tailleDemandee,
+                    STYLE, (iconeConstruite) -> {
+                        appliquerIcone(version, texteDemande, tailleDemandee,
+                                iconeConstruite);
+                    });
+        }
     }
 
     /**
-     * Convertit une couleur de javafx.scene.paint.Color vers java.awt.Color.
+     * Applique l'icône d'une mise en page terminée si aucune mise en page plus
+     * récente n'a été demandée.
      *
-     * @return la couleur convertie.
+     * @param version la version de la mise en page.
+     * @param texte le texte de la formule mise en page.
+     * @param taille la taille des caractères de la formule mise en page.
+     * @param icone l'icône de la formule.
      */
-    private java.awt.Color couleur() {
-        final Color couleur = getCouleur();
-        return new java.awt.Color((float) couleur.getRed(),
-                (float) couleur.getGreen(), (float) couleur.getBlue(),
-                (float) couleur.getOpacity());
+    private void appliquerIcone(final long version,
+            @NotNull final String texte, final int taille,
+            @NotNull final TeXIcon icone) {
+        if (version != versionDemandee) {
+            return;
+        }
+        texteIcone = texte;
+        tailleIcone = taille;
+        image = null;
+        this.icone.setValue(icone);
     }
 
     @Override
@@ -416,12 +538,41 @@ public class Etiquette extends Forme {
         this.positionAncrage.setValue(positionAncrage);
     }
 
+    private TeXIcon getIcone() {
+        return icone.getValue();
+    }
+
+    /**
+     * Récupère la propriété de l'icône de la dernière formule mise en page.
+     * Elle est modifiée sur le fil d'exécution de l'application lorsqu'une
+     * mise en page est terminée.
+     *
+     * @return la propriété de l'icône de l'étiquette.
+     */
+    public final ReadOnlyObjectProperty<TeXIcon> iconeProperty() {
+        return icone;
+    }
+
+    /**
+     * Récupère la largeur virtuelle de l'étiquette.
+     *
+     * @return la largeur de l'étiquette, ou zéro si elle n'a pas encore été
+     * mise en page.
+     */
     public final double getLargeur() {
-        return icone.getIconWidth();
+        final TeXIcon icone = getIcone();
+        return icone == null ? 0 : icone.getIconWidth();
     }
 
+    /**
+     * Récupère la hauteur virtuelle de l'étiquette.
+     *
+     * @return la hauteur de l'étiquette, ou zéro si elle n'a pas encore été
+     * mise en page.
+     */
     public final double getHauteur() {
-        return icone.getIconHeight();
+        final TeXIcon icone = getIcone();
+        return icone == null ? 0 : icone.getIconHeight();
     }
 
 }
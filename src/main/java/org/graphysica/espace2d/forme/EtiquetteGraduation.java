@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.geometry.Dimension2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import org.graphysica.util.CacheLRU;
+
+/**
+ * Une étiquette de graduation affiche la valeur numérique d'une graduation
+ * d'axe en texte simple. Contrairement aux étiquettes TeX, elle est dessinée
+ * directement par la toile et ses dimensions sont mesurées une seule fois par
+ * texte et par police. Une étiquette de graduation ne dépend que de son texte
+ * et de sa police, de telle sorte qu'elle puisse être réutilisée par un axe
+ * pour toute graduation affichant le même texte.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class EtiquetteGraduation {
+
+    /**
+     * La couleur du texte des étiquettes de graduation.
+     */
+    private static final Color COULEUR = Color.BLACK;
+
+    /**
+     * La capacité de la cache des dimensions mesurées pour chaque police.
+     */
+    private static final int CAPACITE_DIMENSIONS = 1024;
+
+    /**
+     * Les dimensions mesurées des textes, associées à leur police.
+     */
+    private static final Map<Font, CacheLRU<String, Dimension2D>> DIMENSIONS
+            = new HashMap<>();
+
+    /**
+     * Le texte de l'étiquette.
+     */
+    private final String texte;
+
+    /**
+     * La police du texte de l'étiquette.
+     */
+    private final Font police;
+
+    /**
+     * Les dimensions virtuelles du texte de l'étiquette.
+     */
+    private final Dimension2D dimensions;
+
+    /**
+     * Construit une étiquette de graduation dont le texte et la taille des
+     * caractères sont définis.
+     *
+     * @param texte le texte de l'étiquette.
+     * @param tailleCaracteres la taille des caractères du texte.
+     */
+    EtiquetteGraduation(@NotNull final String texte,
+            final int tailleCaracteres) {
+        this.texte = texte;
+        this.police = Font.font(tailleCaracteres);
+        this.dimensions = dimensions(texte, police);
+    }
+
+    /**
+     * Récupère les dimensions d'un texte dans une police. Les dimensions sont
+     * mesurées puis mises en cache si elles n'ont pas déjà été mesurées.
+     *
+     * @param texte le texte à mesurer.
+     * @param police la police du texte.
+     * @return les dimensions du texte.
+     */
+    private static Dimension2D dimensions(@NotNull final String texte,
+            @NotNull final Font police) {
+        final CacheLRU<String, Dimension2D> dimensionsPolice = DIMENSIONS
+                .computeIfAbsent(police,
+                        (cle) -> new CacheLRU<>(CAPACITE_DIMENSIONS));
+        Dimension2D dimensions = dimensionsPolice.get(texte);
+        if (dimensions == null) {
+            final Text mesure = new Text(texte);
+            mesure.setFont(police);
+            dimensions = new Dimension2D(
+                    mesure.getLayoutBounds().getWidth(),
+                    mesure.getLayoutBounds().getHeight());
+            dimensionsPolice.put(texte, dimensions);
+        }
+        return dimensions;
+    }
+
+    /**
+     * Dessine l'étiquette dans un contexte graphique à une position virtuelle
+     * définie. La position correspond au coin supérieur gauche du texte.
+     *
+     * @param contexteGraphique le contexte graphique de la toile.
+     * @param abscisse l'abscisse virtuelle du coin supérieur gauche.
+     * @param ordonnee l'ordonnée virtuelle du coin supérieur gauche.
+     */
+    void dessiner(@NotNull final GraphicsContext contexteGraphique,
+            final double abscisse, final double ordonnee) {
+        if (!police.equals(contexteGraphique.getFont())) {
+            contexteGraphique.setFont(police);
+        }
+        if (contexteGraphique.getTextBaseline() != VPos.TOP) {
+            contexteGraphique.setTextBaseline(VPos.TOP);
+        }
+        if (!COULEUR.equals(contexteGraphique.getFill())) {
+            contexteGraphique.setFill(COULEUR);
+        }
+        contexteGraphique.fillText(texte, (int) abscisse, (int) ordonnee);
+    }
+
+    double getLargeur() {
+        return dimensions.getWidth();
+    }
+
+    double getHauteur() {
+        return dimensions.getHeight();
+    }
+
+}
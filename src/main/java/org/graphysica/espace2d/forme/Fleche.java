@@ -19,11 +19,13 @@ package org.graphysica.espace2d.forme;
 import com.sun.istack.internal.NotNull;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
 import org.graphysica.espace2d.position.PositionVirtuelle;
+import org.graphysica.espace2d.rendu.Trace;
 
 /**
  * Une flèche relie un point d'origine vers un point d'arrivée. La direction de
@@ -67,13 +69,46 @@ public class Fleche extends SegmentDroite {
         tete.dessinerNormal(toile, repere);
     }
 
+    @Override
+    public Trace trace(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        final Trace segment = super.trace(toile, repere);
+        tete.calculerPositionsPoints(repere, getArrivee());
+        final Trace pointe = tete.trace(toile, repere);
+        return (graphiques) -> {
+            segment.tracer(graphiques);
+            pointe.tracer(graphiques);
+        };
+    }
+
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
         super.dessinerSurvol(toile, repere);
+        tete.calculerPositionsPoints(repere, getArrivee());
         tete.dessinerSurvol(toile, repere);
     }
 
+    /**
+     * Calcule les limites virtuelles de la flèche. Les limites du segment sont
+     * agrandies de la taille de la tête de la flèche.
+     *
+     * @param toile la toile sur laquelle la flèche est dessinée.
+     * @param repere le repère de l'espace.
+     * @return les limites virtuelles de la flèche.
+     */
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        final Rectangle2D limitesSegment = super.limites(toile, repere);
+        final double marge = Math.max(2 * tete.getHauteur(),
+                tete.getLargeur());
+        return new Rectangle2D(limitesSegment.getMinX() - marge,
+                limitesSegment.getMinY() - marge,
+                limitesSegment.getWidth() + 2 * marge,
+                limitesSegment.getHeight() + 2 * marge);
+    }
+
     private Position getOrigine() {
         return getPosition1();
     }
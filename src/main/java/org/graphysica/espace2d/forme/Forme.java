@@ -19,15 +19,19 @@ package org.graphysica.espace2d.forme;
 import com.sun.istack.internal.NotNull;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.paint.Color;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.rendu.Trace;
 
 /**
  * Une forme peut être dessinée à l'écran dans un espace avec une couleur
@@ -72,7 +76,20 @@ public abstract class Forme implements Dessinable, Survolable, Selectionnable,
     /**
      * Si la forme est en prévisualisation.
      */
-    private boolean enPrevisualisation = false;
+    private final BooleanProperty enPrevisualisation
+            = new SimpleBooleanProperty(false);
+
+    /**
+     * Le nombre de formes qui ont été construites.
+     */
+    private static final AtomicInteger FORMES = new AtomicInteger(0);
+
+    /**
+     * Le numéro d'identification de la forme, attribué selon l'ordre de
+     * construction des formes. Il ne change pas lorsque la forme est retirée
+     * puis ajoutée de nouveau à un espace.
+     */
+    private final int id;
 
     public Forme() {
     }
@@ -82,20 +99,80 @@ public abstract class Forme implements Dessinable, Survolable, Selectionnable,
     }
 
     {
+        id = FORMES.getAndIncrement() + 1;
         proprietes.add(couleur);
         proprietes.add(affiche);
-        proprietes.add(enSurbrillance);
     }
 
+    /**
+     * Dessine la forme dans son état normal. La surbrillance de la forme est
+     * dessinée séparément par {@link #dessinerSurvol(Canvas, Repere)}, ce qui
+     * permet de la dessiner sur un calque de surbrillance distinct.
+     *
+     * @param toile la toile sur laquelle dessiner la forme.
+     * @param repere le repère de l'espace.
+     */
     @Override
     public void dessiner(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        if (isEnSurvol()) {
-            dessinerSurvol(toile, repere);
-        }
         dessinerNormal(toile, repere);
     }
 
+    /**
+     * Calcule les limites virtuelles de la forme. Par défaut, une forme
+     * s'étend sur l'ensemble de la toile, de telle sorte qu'elle soit toujours
+     * dessinée.
+     *
+     * @param toile la toile sur laquelle la forme est dessinée.
+     * @param repere le repère de l'espace.
+     * @return les limites virtuelles de la forme.
+     */
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        return new Rectangle2D(0, 0, toile.getWidth(), toile.getHeight());
+    }
+
+    /**
+     * Calcule le plus petit rectangle contenant un ensemble de points virtuels,
+     * agrandi d'une marge dans toutes les directions.
+     *
+     * @param marge la marge autour des points, exprimée en pixels.
+     * @param points les points virtuels à contenir.
+     * @return le rectangle contenant les points, ou un rectangle vide s'il n'y
+     * a aucun point.
+     */
+    protected static Rectangle2D limites(final double marge,
+            @NotNull final Vector2D... points) {
+        if (points.length == 0) {
+            return Rectangle2D.EMPTY;
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (final Vector2D point : points) {
+            minX = Math.min(minX, point.getX());
+            minY = Math.min(minY, point.getY());
+            maxX = Math.max(maxX, point.getX());
+            maxY = Math.max(maxY, point.getY());
+        }
+        return new Rectangle2D(minX - marge, minY - marge,
+                maxX - minX + 2 * marge, maxY - minY + 2 * marge);
+    }
+
+    /**
+     * Convertit une couleur JavaFX en une couleur Java2D.
+     *
+     * @param couleur la couleur à convertir.
+     * @return la couleur convertie.
+     */
+    static java.awt.Color couleurAwt(@NotNull final Color couleur) {
+        return new java.awt.Color((float) couleur.getRed(),
+                (float) couleur.getGreen(), (float) couleur.getBlue(),
+                (float) couleur.getOpacity());
+    }
+
     @Override
     public abstract void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere);
@@ -104,6 +181,32 @@ public abstract class Forme implements Dessinable, Survolable, Selectionnable,
     public abstract void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere);
 
+    /**
+     * Construit la trace du dessin de la forme dans son état normal. La trace
+     * est construite sur le fil d'exécution de l'application JavaFX, puis
+     * peut être dessinée sur un autre fil d'exécution. Par défaut, une forme
+     * n'a pas de trace et doit être dessinée sur sa toile.
+     *
+     * @param toile la toile sur laquelle la forme serait dessinée.
+     * @param repere le repère de l'espace.
+     * @return la trace de la forme, ou {@code null} si la forme ne peut être
+     * dessinée que sur sa toile.
+     */
+    public Trace trace(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        return null;
+    }
+
+    /**
+     * Libère les ressources de rendu que cette forme associe à un repère.
+     * Cette méthode est appelée lorsque la forme est retirée de l'espace de
+     * ce repère.
+     *
+     * @param repere le repère de l'espace duquel la forme est retirée.
+     */
+    public void liberer(@NotNull final Repere repere) {
+    }
+
     @Override
     public boolean isSelectionne(@NotNull final Position curseur,
             @NotNull final Repere repere) {
@@ -126,6 +229,10 @@ public abstract class Forme implements Dessinable, Survolable, Selectionnable,
         return couleur;
     }
 
+    public final long getId() {
+        return id;
+    }
+
     @Override
     public final boolean isAffiche() {
         return affiche.getValue();
@@ -150,14 +257,35 @@ public abstract class Forme implements Dessinable, Survolable, Selectionnable,
         this.enSurbrillance.setValue(enSurbrillance);
     }
 
+    /**
+     * Récupère la propriété d'état de surbrillance de la forme. Cette propriété
+     * ne fait pas partie des propriétés de la forme puisque la surbrillance
+     * est dessinée sur un calque de surbrillance.
+     *
+     * @return la propriété d'état de surbrillance de la forme.
+     */
+    public final BooleanProperty enSurvolProperty() {
+        return enSurbrillance;
+    }
+
     @Override
     public final boolean isEnPrevisualisation() {
-        return enPrevisualisation;
+        return enPrevisualisation.getValue();
     }
 
     @Override
     public final void setEnPrevisualisation(final boolean enPrevisualisation) {
-        this.enPrevisualisation = enPrevisualisation;
+        this.enPrevisualisation.setValue(enPrevisualisation);
+    }
+
+    /**
+     * Récupère la propriété d'état de prévisualisation de la forme. Une forme
+     * en prévisualisation est dessinée sur le calque d'interaction.
+     *
+     * @return la propriété d'état de prévisualisation de la forme.
+     */
+    public final BooleanProperty enPrevisualisationProperty() {
+        return enPrevisualisation;
     }
 
 }
@@ -25,6 +25,7 @@ import javafx.scene.paint.Color;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.rendu.ListeAffichage;
 
 /**
  * Une grille permet de subdiviser l'espace selon un espacement virtuel qui
@@ -59,6 +60,12 @@ public final class Grille extends Forme {
      */
     private double[] graduationsVerticales;
 
+    /**
+     * Le chemin de la grille en coordonnées virtuelles, réenregistré à chaque
+     * dessin de la grille dans les mêmes tableaux.
+     */
+    private final ListeAffichage chemin = new ListeAffichage();
+
     /**
      * Construit une grille dont l'espacement et la couleur sont définis.
      *
@@ -90,52 +97,53 @@ public final class Grille extends Forme {
                 getEspacement().getY());
     }
 
-    @Override
-    public void dessiner(@NotNull final Canvas toile,
-            @NotNull final Repere repere) {
-        calculerGraduations(toile, repere);
-        super.dessiner(toile, repere);
-    }
-    
     @Override
     public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        dessinerGrille(toile, graduationsHorizontales, graduationsVerticales,
-                getCouleur(), 1);
+        calculerGraduations(toile, repere);
+        dessinerGrille(toile, getCouleur(), 1);
     }
 
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        dessinerGrille(toile, graduationsHorizontales, graduationsVerticales,
-                getCouleur().deriveColor(1, 1, 1, 0.1), 2);
+        calculerGraduations(toile, repere);
+        dessinerGrille(toile, getCouleur().deriveColor(1, 1, 1, 0.1), 2);
     }
 
     /**
-     * Dessine une grille sur une toile selon un repère
+     * Dessine la grille sur une toile selon ses graduations calculées.
+     * L'ensemble des lignes de la grille est enregistré dans un seul chemin,
+     * qui est tracé par une seule commande.
      *
      * @param toile la toile sur laquelle dessiner la grille.
-     * @param graduationsHorizontales les positions virtuelles des graduations
-     * horizontales de la grille.
-     * @param graduationsVerticales les positions virtuelles des graduations
-     * verticales de la grille.
      * @param couleur la couleur de la grille.
      * @param epaisseur l'épaisseur des lignes de la grille.
      */
-    private static void dessinerGrille(@NotNull final Canvas toile,
-            @NotNull final double[] graduationsHorizontales,
-            @NotNull final double[] graduationsVerticales,
-            @NotNull final Color couleur,
-            final double epaisseur) {
-        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setStroke(couleur);
-        contexteGraphique.setLineWidth(epaisseur);
+    private void dessinerGrille(@NotNull final Canvas toile,
+            @NotNull final Color couleur, final double epaisseur) {
+        chemin.commencer();
         for (final double y : graduationsHorizontales) {
-            contexteGraphique.strokeLine(0, y, toile.getWidth(), y);
+            chemin.deplacer(0, y);
+            chemin.tracer(toile.getWidth(), y);
         }
         for (final double x : graduationsVerticales) {
-            contexteGraphique.strokeLine(x, 0, x, toile.getHeight());
+            chemin.deplacer(x, 0);
+            chemin.tracer(x, toile.getHeight());
         }
+        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
+        EtatGraphique.de(toile).definirTrait(couleur, epaisseur);
+        chemin.rejouer(contexteGraphique);
+        contexteGraphique.stroke();
+    }
+
+    /**
+     * Récupère le chemin de la grille enregistré lors de son dernier dessin.
+     *
+     * @return le chemin de la grille en coordonnées virtuelles.
+     */
+    ListeAffichage getChemin() {
+        return chemin;
     }
 
     @Override
@@ -17,8 +17,11 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import java.awt.BasicStroke;
+import java.awt.geom.Line2D;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -26,6 +29,7 @@ import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.Repere;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.position.PositionReelle;
+import org.graphysica.espace2d.rendu.Trace;
 
 /**
  * Une ligne a une épaisseur et une couleur par défaut pour relier des points
@@ -81,31 +85,69 @@ public abstract class Ligne extends Forme {
     }
 
     @Override
-    public void dessiner(@NotNull final Canvas toile,
+    public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
         calculerOrigineEtArrivee(toile, repere);
-        if (isEnSurvol()) {
-            dessinerSurvol(toile, repere);
+        final Vector2D origine = origineTrace.virtuelle(repere);
+        final Vector2D arrivee = arriveeTrace.virtuelle(repere);
+        if (!dessinerSiReduite(toile, origine.getX(), origine.getY(),
+                arrivee.getX(), arrivee.getY(), getCouleur())) {
+            dessinerLigne(toile, origine, arrivee, getCouleur(),
+                    getEpaisseur());
         }
-        dessinerNormal(toile, repere);
     }
 
     @Override
-    public void dessinerNormal(@NotNull final Canvas toile,
+    public Trace trace(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        dessinerLigne(toile, origineTrace.virtuelle(repere),
-                arriveeTrace.virtuelle(repere), getCouleur(), getEpaisseur());
+        calculerOrigineEtArrivee(toile, repere);
+        final Vector2D origine = origineTrace.virtuelle(repere);
+        final Vector2D arrivee = arriveeTrace.virtuelle(repere);
+        final java.awt.Color couleur = couleurAwt(getCouleur());
+        if (NiveauDetail.de(toile).isSegmentReduit(origine.distance(arrivee))) {
+            final int abscisse = (int) origine.getX();
+            final int ordonnee = (int) origine.getY();
+            return (graphiques) -> {
+                graphiques.setColor(couleur);
+                graphiques.fillRect(abscisse, ordonnee, 1, 1);
+            };
+        }
+        final Line2D ligne = new Line2D.Double(origine.getX(), origine.getY(),
+                arrivee.getX(), arrivee.getY());
+        final BasicStroke trait = new BasicStroke(getEpaisseur());
+        return (graphiques) -> {
+            graphiques.setColor(couleur);
+            graphiques.setStroke(trait);
+            graphiques.draw(ligne);
+        };
     }
 
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
+        calculerOrigineEtArrivee(toile, repere);
         dessinerLigne(toile, origineTrace.virtuelle(repere),
                 arriveeTrace.virtuelle(repere),
                 getCouleur().deriveColor(1, 1, 1, 0.3),
                 3 * getEpaisseur());
     }
 
+    /**
+     * Calcule les limites virtuelles de la trace de la ligne, incluant la
+     * moitié de son épaisseur.
+     *
+     * @param toile la toile sur laquelle la ligne est dessinée.
+     * @param repere le repère de l'espace.
+     * @return les limites virtuelles de la ligne.
+     */
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        calculerOrigineEtArrivee(toile, repere);
+        return limites(getEpaisseur() / 2.0, origineTrace.virtuelle(repere),
+                arriveeTrace.virtuelle(repere));
+    }
+
     /**
      * Dessine une ligne définie par son origine et son arrivée virtuelles, sa
      * couleur et son épaisseur sur une toile. Dans le cas d'une droite,
@@ -121,12 +163,39 @@ public abstract class Ligne extends Forme {
             @NotNull final Vector2D origine, @NotNull final Vector2D arrivee,
             @NotNull final Color couleur, final double epaisseur) {
         final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setStroke(couleur);
-        contexteGraphique.setLineWidth(epaisseur);
+        EtatGraphique.de(toile).definirTrait(couleur, epaisseur);
         contexteGraphique.strokeLine(origine.getX(), origine.getY(),
                 arrivee.getX(), arrivee.getY());
     }
 
+    /**
+     * Dessine une ligne comme un seul pixel de sa couleur si le niveau de
+     * détail de la toile la réduit, c'est-à-dire si sa longueur virtuelle est
+     * telle qu'elle serait imperceptible. Sinon, rien n'est dessiné et la
+     * ligne doit être tracée par l'appelant.
+     *
+     * @param toile la toile sur laquelle dessiner la ligne.
+     * @param x1 l'abscisse virtuelle de l'origine de la ligne.
+     * @param y1 l'ordonnée virtuelle de l'origine de la ligne.
+     * @param x2 l'abscisse virtuelle de l'arrivée de la ligne.
+     * @param y2 l'ordonnée virtuelle de l'arrivée de la ligne.
+     * @param couleur la couleur de la ligne.
+     * @return {@code true} si la ligne est réduite et a été dessinée.
+     * @see NiveauDetail#isSegmentReduit(double)
+     */
+    protected static boolean dessinerSiReduite(@NotNull final Canvas toile,
+            final double x1, final double y1, final double x2,
+            final double y2, @NotNull final Color couleur) {
+        if (!NiveauDetail.de(toile).isSegmentReduit(
+                Math.hypot(x2 - x1, y2 - y1))) {
+            return false;
+        }
+        final EtatGraphique etat = EtatGraphique.de(toile);
+        etat.definirRemplissage(couleur);
+        etat.getContexteGraphique().fillRect((int) x1, (int) y1, 1, 1);
+        return true;
+    }
+
     /**
      * Calcule et actualise la position virtuelle de l'origine
      * {@code origineTrace} et de l'arrivée {@code arriveeTrace} de la trace de
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import org.scilab.forge.jlatexmath.TeXIcon;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * La mise en page des étiquettes construit les icônes des formules TeX sur un
+ * fil d'exécution d'arrière-plan plutôt que sur le fil d'exécution de
+ * l'application JavaFX. Les icônes construites sont remises au fil
+ * d'exécution de l'application.
+ * <p>
+ * Toutes les formules sont analysées par le même fil d'exécution puisque
+ * l'analyse des formules TeX n'est pas sûre entre plusieurs fils d'exécution.
+ * Chaque demandeur a au plus une mise en page en attente : une nouvelle
+ * demande remplace la demande en attente du même demandeur, devenue périmée.
+ * Le nombre de mises en page en attente est ainsi borné par le nombre de
+ * demandeurs.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+final class MiseEnPageEtiquettes {
+
+    /**
+     * L'utilitaire d'enregistrement de traces d'exécution.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+            MiseEnPageEtiquettes.class);
+
+    /**
+     * L'exécuteur des mises en page, composé d'un seul fil d'exécution démon.
+     */
+    private static final ExecutorService EXECUTEUR
+            = Executors.newSingleThreadExecutor((tache) -> {
+                final Thread fil = new Thread(tache,
+                        "Mise en page des étiquettes");
+                fil.setDaemon(true);
+                return fil;
+            });
+
+    /**
+     * Les mises en page en attente, associées à leur demandeur.
+     */
+    private static final Map<Object, Runnable> EN_ATTENTE = new HashMap<>();
+
+    private MiseEnPageEtiquettes() {
+    }
+
+    /**
+     * Demande la mise en page d'une formule TeX. L'icône construite est remise
+     * au fil d'exécution de l'application JavaFX. La demande remplace la mise
+     * en page en attente du même demandeur si celle-ci n'a pas encore été
+     * commencée.
+     *
+     * @param demandeur le demandeur de la mise en page.
+     * @param texte le texte de la formule.
+     * @param taille la taille des caractères de la formule.
+     * @param style le style de la formule.
+     * @param reception la réception de l'icône construite.
+     */
+    static void demander(@NotNull final Object demandeur,
+            @NotNull final String texte, final int taille, final int style,
+            @NotNull final Consumer<TeXIcon> reception) {
+        final Runnable miseEnPage = () -> {
+            final TeXIcon icone;
+            try {
+                icone = CacheIcones.icone(texte, taille, style);
+            } catch (final RuntimeException exception) {
+                LOGGER.error(String.format("La formule « %s » n'a pas pu "
+                        + "être mise en page.", texte), exception);
+                return;
+            }
+            Platform.runLater(() -> reception.accept(icone));
+        };
+        final boolean nouvelle;
+        synchronized (EN_ATTENTE) {
+            nouvelle = EN_ATTENTE.put(demandeur, miseEnPage) == null;
+        }
+        if (nouvelle) {
+            EXECUTEUR.execute(() -> executer(demandeur));
+        }
+    }
+
+    /**
+     * Exécute la mise en page en attente d'un demandeur, s'il y en a une.
+     *
+     * @param demandeur le demandeur de la mise en page.
+     */
+    private static void executer(@NotNull final Object demandeur) {
+        final Runnable miseEnPage;
+        synchronized (EN_ATTENTE) {
+            miseEnPage = EN_ATTENTE.remove(demandeur);
+        }
+        if (miseEnPage != null) {
+            miseEnPage.run();
+        }
+    }
+
+}
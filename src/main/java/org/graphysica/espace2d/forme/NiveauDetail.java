@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import javafx.scene.canvas.Canvas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Un niveau de détail détermine la fidélité avec laquelle les formes sont
+ * dessinées sur une toile. Plus la densité de formes affichées sur la toile
+ * est élevée, moins les formes sont détaillées: les étiquettes sont masquées,
+ * puis les points sont dessinés sans bordure. Les segments plus courts qu'un
+ * pixel sont réduits à un pixel dès que le niveau n'est plus complet.
+ * <p>
+ * Les seuils de densité sont chargés à partir d'un fichier de configuration
+ * et sont exprimés en nombre de formes par mégapixel de toile.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public enum NiveauDetail {
+
+    /**
+     * Toutes les formes sont dessinées avec tous leurs détails.
+     */
+    COMPLET,
+    /**
+     * Les étiquettes sont masquées et les segments trop courts sont réduits.
+     */
+    REDUIT,
+    /**
+     * Les étiquettes sont masquées, les segments trop courts sont réduits et
+     * les points sont dessinés sans bordure.
+     */
+    MINIMAL;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+            NiveauDetail.class);
+
+    /**
+     * Le chemin du fichier des propriétés de niveau de détail.
+     */
+    private static final String CHEMIN_PROPRIETES = "/config/detail.properties";
+
+    /**
+     * La clé des propriétés d'une toile associée au niveau de détail de la
+     * toile.
+     */
+    private static final String CLE_NIVEAU = "niveaudetail";
+
+    /**
+     * Le nombre de pixels d'un mégapixel.
+     */
+    private static final double MEGAPIXEL = 1e6;
+
+    /**
+     * Les propriétés de niveau de détail.
+     */
+    private static final Properties PROPRIETES = new Properties();
+
+    static {
+        try {
+            final InputStream entree = NiveauDetail.class
+                    .getResourceAsStream(CHEMIN_PROPRIETES);
+            if (entree == null) {
+                throw new NullPointerException();
+            } else {
+                PROPRIETES.load(entree);
+            }
+        } catch (final NullPointerException npex) {
+            LOGGER.error("Fichier de propriétés de niveau de détail "
+                    + "introuvable au chemin " + CHEMIN_PROPRIETES, npex);
+        } catch (final IOException ioex) {
+            LOGGER.error("Erreur lors de la lecture du fichier de propriétés "
+                    + "au chemin " + CHEMIN_PROPRIETES, ioex);
+        }
+    }
+
+    /**
+     * La densité de formes au-delà de laquelle le niveau de détail est réduit.
+     */
+    private static final double SEUIL_REDUIT = chargerPropriete("reduit",
+            1500);
+
+    /**
+     * La densité de formes au-delà de laquelle le niveau de détail est
+     * minimal.
+     */
+    private static final double SEUIL_MINIMAL = chargerPropriete("minimal",
+            5000);
+
+    /**
+     * La longueur virtuelle en pixels en deçà de laquelle un segment est
+     * réduit à un pixel lorsque le niveau de détail n'est pas complet.
+     */
+    private static final double LONGUEUR_SEGMENT_MINIMALE = chargerPropriete(
+            "segmentminimal", 1);
+
+    /**
+     * Charge une propriété de niveau de détail à partir de la clé de la
+     * propriété.
+     *
+     * @param propriete la clé de la propriété à récupérer.
+     * @param valeurParDefaut la valeur de la propriété en cas d'erreur.
+     * @return la valeur de la propriété ou la valeur par défaut en cas
+     * d'erreur.
+     */
+    private static double chargerPropriete(@NotNull final String propriete,
+            final double valeurParDefaut) {
+        final String proprieteRecuperee = PROPRIETES.getProperty(propriete);
+        try {
+            if (proprieteRecuperee == null) {
+                throw new NullPointerException();
+            } else {
+                return Double.parseDouble(proprieteRecuperee);
+            }
+        } catch (final NullPointerException npex) {
+            LOGGER.error("Aucune propriété '" + propriete + "' au chemin "
+                    + CHEMIN_PROPRIETES, npex);
+        } catch (final NumberFormatException nfex) {
+            LOGGER.error("Format inattendu de la propriété '" + propriete
+                    + "' au chemin " + CHEMIN_PROPRIETES, nfex);
+        }
+        return valeurParDefaut;
+    }
+
+    /**
+     * Détermine le niveau de détail d'une toile selon le nombre de formes qui
+     * y sont dessinées et son aire.
+     *
+     * @param nombreFormes le nombre de formes dessinées sur la toile.
+     * @param aire l'aire virtuelle de la toile exprimée en pixels.
+     * @return le niveau de détail correspondant à la densité de formes.
+     */
+    public static NiveauDetail selon(final int nombreFormes,
+            final double aire) {
+        if (aire <= 0) {
+            return COMPLET;
+        }
+        final double densite = nombreFormes / (aire / MEGAPIXEL);
+        if (densite > SEUIL_MINIMAL) {
+            return MINIMAL;
+        } else if (densite > SEUIL_REDUIT) {
+            return REDUIT;
+        }
+        return COMPLET;
+    }
+
+    /**
+     * Récupère le niveau de détail d'une toile. Une toile dont le niveau de
+     * détail n'a pas été défini est dessinée au niveau complet.
+     *
+     * @param toile la toile dont on cherche le niveau de détail.
+     * @return le niveau de détail de la toile.
+     */
+    public static NiveauDetail de(@NotNull final Canvas toile) {
+        final Object niveau = toile.getProperties().get(CLE_NIVEAU);
+        return niveau == null ? COMPLET : (NiveauDetail) niveau;
+    }
+
+    /**
+     * Applique ce niveau de détail à une toile.
+     *
+     * @param toile la toile dont on définit le niveau de détail.
+     */
+    public void appliquer(@NotNull final Canvas toile) {
+        toile.getProperties().put(CLE_NIVEAU, this);
+    }
+
+    /**
+     * Détermine si les étiquettes sont dessinées à ce niveau de détail.
+     *
+     * @return {@code true} si les étiquettes sont dessinées.
+     */
+    public boolean isEtiquettesAffichees() {
+        return this == COMPLET;
+    }
+
+    /**
+     * Détermine si la bordure des points est dessinée à ce niveau de détail.
+     *
+     * @return {@code true} si la bordure des points est dessinée.
+     */
+    public boolean isBorduresAffichees() {
+        return this != MINIMAL;
+    }
+
+    /**
+     * Détermine si un segment de longueur virtuelle définie est réduit à un
+     * pixel à ce niveau de détail.
+     *
+     * @param longueur la longueur virtuelle du segment.
+     * @return {@code true} si le segment est réduit à un pixel.
+     */
+    public boolean isSegmentReduit(final double longueur) {
+        return this != COMPLET && longueur < LONGUEUR_SEGMENT_MINIMALE;
+    }
+
+}
@@ -17,17 +17,32 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 
 /**
  * Un ordre de rendu est un ensemble ordonné des classes de forme à dessiner sur
  * une toile. L'ordre de rendu ne devrait comprendre que des classes qui sont
  * des enfants directs de la classe Forme.
+ * <p>
+ * Chaque classe de l'ordre de rendu correspond à un indice entier, de telle
+ * sorte que les formes puissent être regroupées par indice de rendu une fois
+ * pour toutes plutôt que d'être comparées à chacune des classes à chaque
+ * rendu. Les indices mémorisés sont oubliés à chaque modification de l'ordre
+ * de rendu, y compris les retraits effectués par un itérateur, sur lesquels
+ * reposent {@code removeAll}, {@code retainAll} et {@code removeIf}.
  *
  * @author Marc-Antoine Ouimet
  */
-@SuppressWarnings("unchecked")
-public class OrdreRendu extends LinkedHashSet<Class> {
+public class OrdreRendu extends LinkedHashSet<Class<? extends Forme>> {
+
+    /**
+     * L'association des classes de forme déjà rencontrées à leur indice de
+     * rendu.
+     */
+    private final Map<Class<? extends Forme>, Integer> indices = new HashMap<>();
 
     {
         add(Grille.class);
@@ -40,12 +55,76 @@ public class OrdreRendu extends LinkedHashSet<Class> {
     }
 
     @Override
-    public boolean add(@NotNull final Class classe) {
+    public boolean add(@NotNull final Class<? extends Forme> classe) {
         if (classe.isAssignableFrom(Forme.class)) {
             throw new IllegalArgumentException(
                     "Le type de classe spécifié n'est pas une forme.");
         }
+        indices.clear();
         return super.add(classe);
     }
 
+    @Override
+    public boolean remove(final Object classe) {
+        indices.clear();
+        return super.remove(classe);
+    }
+
+    @Override
+    public void clear() {
+        indices.clear();
+        super.clear();
+    }
+
+    @Override
+    public Iterator<Class<? extends Forme>> iterator() {
+        final Iterator<Class<? extends Forme>> iterateur = super.iterator();
+        return new Iterator<Class<? extends Forme>>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterateur.hasNext();
+            }
+
+            @Override
+            public Class<? extends Forme> next() {
+                return iterateur.next();
+            }
+
+            @Override
+            public void remove() {
+                iterateur.remove();
+                indices.clear();
+            }
+
+        };
+    }
+
+    /**
+     * Récupère l'indice de rendu d'une forme. L'indice de rendu correspond à la
+     * position de la première classe de l'ordre de rendu dont la forme est une
+     * instance. L'indice est mémorisé pour la classe de la forme.
+     *
+     * @param forme la forme dont on cherche l'indice de rendu.
+     * @return l'indice de rendu de la forme, ou {@code -1} si aucune classe de
+     * l'ordre de rendu ne correspond à la forme.
+     */
+    public int indice(@NotNull final Forme forme) {
+        final Class<? extends Forme> classeForme = forme.getClass();
+        Integer indice = indices.get(classeForme);
+        if (indice == null) {
+            indice = -1;
+            int i = 0;
+            for (final Class<? extends Forme> classe : this) {
+                if (classe.isAssignableFrom(classeForme)) {
+                    indice = i;
+                    break;
+                }
+                i++;
+            }
+            indices.put(classeForme, indice);
+        }
+        return indice;
+    }
+
 }
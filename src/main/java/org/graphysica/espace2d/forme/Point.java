@@ -17,18 +17,40 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
-import static org.graphysica.espace2d.position.Type.VIRTUELLE;
+import org.graphysica.espace2d.TamponPositions;
+import org.graphysica.espace2d.position.PositionReelle;
+import org.graphysica.espace2d.rendu.Trace;
+import org.graphysica.util.CacheLRU;
 
 /**
  * Un point représente une position dans l'espace.
+ * <p>
+ * Chaque style de point, défini par sa couleur, sa taille, son état de
+ * surbrillance et la présence de sa bordure, est rendu une seule fois en une
+ * image partagée par tous les points de ce style. Les points sont ensuite
+ * dessinés par la copie de cette image plutôt que par le remplissage de
+ * plusieurs ovales.
+ * <p>
+ * La position virtuelle d'un point à la position réelle est lue dans le
+ * tampon de positions du repère de son espace, de telle sorte que le dessin du
+ * point ne construise aucun vecteur.
  *
  * @author Marc-Antoine Ouimet
  */
@@ -39,6 +61,12 @@ public class Point extends Forme {
      */
     private static final Color COULEUR_BORDURE = Color.BLACK;
 
+    /**
+     * La couleur de la bordure du point dans un contexte graphique Java2D.
+     */
+    private static final java.awt.Color COULEUR_BORDURE_AWT
+            = couleurAwt(COULEUR_BORDURE);
+
     /**
      * La position du point exprimée en mètres selon la base canonique.
      */
@@ -55,6 +83,44 @@ public class Point extends Forme {
      */
     private final Taille taille = Taille.de("point");
 
+    /**
+     * La marge de surbrillance autour du point, exprimée en pixels.
+     */
+    private static final int MARGE_SURVOL = 6;
+
+    /**
+     * Les images rendues des styles de point.
+     */
+    private static final CacheLRU<Style, Image> SPRITES = new CacheLRU<>(256);
+
+    /**
+     * L'image du point dans son état normal. Elle est retirée lorsque la
+     * couleur ou la taille du point est modifiée.
+     */
+    private Image sprite;
+
+    /**
+     * L'image du point sans bordure, dessinée lorsque le niveau de détail de
+     * la toile ne permet pas l'affichage des bordures. Elle est retirée
+     * lorsque la couleur ou la taille du point est modifiée.
+     */
+    private Image spriteSansBordure;
+
+    /**
+     * L'image de la surbrillance du point. Elle est retirée lorsque la couleur
+     * ou la taille du point est modifiée.
+     */
+    private Image spriteSurvol;
+
+    /**
+     * Les emplacements de la position de ce point, associés aux tampons de
+     * positions dans lesquels ils sont réservés. Un point affiché dans
+     * plusieurs espaces conserve un emplacement dans le tampon du repère de
+     * chacun d'eux.
+     */
+    private final Map<TamponPositions, Integer> emplacements
+            = new IdentityHashMap<>(2);
+
     /**
      * Construit un point par défaut.
      */
@@ -91,23 +157,235 @@ public class Point extends Forme {
     {
         proprietes.add(position);
         proprietes.add(taille);
+        final InvalidationListener retirerSprites = (observable) -> {
+            sprite = null;
+            spriteSansBordure = null;
+            spriteSurvol = null;
+        };
+        couleurProperty().addListener(retirerSprites);
+        taille.addListener(retirerSprites);
+        position.addListener((observable) -> {
+            if (emplacements.isEmpty()) {
+                return;
+            }
+            if (getPosition() instanceof PositionReelle) {
+                emplacements.forEach(this::definirEmplacement);
+            } else {
+                emplacements.forEach(TamponPositions::liberer);
+                emplacements.clear();
+            }
+        });
+    }
+
+    /**
+     * Récupère l'emplacement de la position de ce point dans le tampon de
+     * positions d'un repère. L'emplacement est réservé au premier appel. Seules
+     * les positions réelles sont conservées dans un tampon puisque les
+     * positions virtuelles ne dépendent pas du repère.
+     *
+     * @param repere le repère de l'espace du point.
+     * @return l'emplacement de la position, ou {@code -1} si la position du
+     * point n'est pas réelle.
+     */
+    private int emplacement(@NotNull final Repere repere) {
+        final TamponPositions tampon = repere.getTampon();
+        final Integer emplacement = emplacements.get(tampon);
+        if (emplacement != null) {
+            return emplacement;
+        }
+        if (!(getPosition() instanceof PositionReelle)) {
+            return -1;
+        }
+        final int emplacementReserve = tampon.reserver();
+        emplacements.put(tampon, emplacementReserve);
+        definirEmplacement(tampon, emplacementReserve);
+        return emplacementReserve;
+    }
+
+    /**
+     * Copie la position réelle de ce point dans un de ses emplacements.
+     *
+     * @param tampon le tampon de positions de l'emplacement.
+     * @param emplacement l'emplacement de la position dans le tampon.
+     */
+    private void definirEmplacement(@NotNull final TamponPositions tampon,
+            final int emplacement) {
+        final Vector2D valeur = getPosition().getValeur();
+        tampon.definir(emplacement, valeur.getX(), valeur.getY());
+    }
+
+    @Override
+    public void liberer(@NotNull final Repere repere) {
+        final TamponPositions tampon = repere.getTampon();
+        final Integer emplacement = emplacements.remove(tampon);
+        if (emplacement != null) {
+            tampon.liberer(emplacement);
+        }
+    }
+
+    /**
+     * Récupère l'abscisse virtuelle du centre de ce point.
+     *
+     * @param repere le repère de l'espace du point.
+     * @return l'abscisse virtuelle du point.
+     */
+    private double abscisseVirtuelle(@NotNull final Repere repere) {
+        final int indice = emplacement(repere);
+        return indice < 0 ? getPosition().virtuelle(repere).getX()
+                : repere.getTampon().abscisseVirtuelle(indice);
+    }
+
+    /**
+     * Récupère l'ordonnée virtuelle du centre de ce point.
+     *
+     * @param repere le repère de l'espace du point.
+     * @return l'ordonnée virtuelle du point.
+     */
+    private double ordonneeVirtuelle(@NotNull final Repere repere) {
+        final int indice = emplacement(repere);
+        return indice < 0 ? getPosition().virtuelle(repere).getY()
+                : repere.getTampon().ordonneeVirtuelle(indice);
     }
 
     @Override
     public void dessinerNormal(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        final Vector2D centre = getPosition().virtuelle(repere);
-        dessinerRond(toile, centre, COULEUR_BORDURE,
-                getTaille() + TAILLE_BORDURE);
-        dessinerRond(toile, centre, getCouleur(), getTaille());
+        if (!NiveauDetail.de(toile).isBorduresAffichees()) {
+            if (spriteSansBordure == null) {
+                spriteSansBordure = sprite(new Style(getCouleur(), getTaille(),
+                        false, false));
+            }
+            dessinerSprite(toile, spriteSansBordure, repere);
+            return;
+        }
+        if (sprite == null) {
+            sprite = sprite(new Style(getCouleur(), getTaille(), false, true));
+        }
+        dessinerSprite(toile, sprite, repere);
+    }
+
+    /**
+     * Construit la trace du point, qui remplit sa bordure puis son rond
+     * plutôt que de copier l'image de son style.
+     *
+     * @param toile la toile sur laquelle le point serait dessiné.
+     * @param repere le repère de l'espace du point.
+     * @return la trace du point.
+     */
+    @Override
+    public Trace trace(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        final double abscisse = abscisseVirtuelle(repere);
+        final double ordonnee = ordonneeVirtuelle(repere);
+        final int rayon = getTaille();
+        final java.awt.Color couleur = couleurAwt(getCouleur());
+        final boolean bordure = NiveauDetail.de(toile).isBorduresAffichees();
+        return (graphiques) -> {
+            if (bordure) {
+                graphiques.setColor(COULEUR_BORDURE_AWT);
+                remplirRond(graphiques, abscisse, ordonnee,
+                        rayon + TAILLE_BORDURE);
+            }
+            graphiques.setColor(couleur);
+            remplirRond(graphiques, abscisse, ordonnee, rayon);
+        };
+    }
+
+    /**
+     * Remplit un rond centré à une position virtuelle dans un contexte
+     * graphique Java2D avec la couleur actuelle du contexte.
+     *
+     * @param graphiques le contexte graphique de dessin.
+     * @param abscisse l'abscisse virtuelle du centre du rond.
+     * @param ordonnee l'ordonnée virtuelle du centre du rond.
+     * @param rayon le rayon du rond.
+     */
+    private static void remplirRond(@NotNull final Graphics2D graphiques,
+            final double abscisse, final double ordonnee, final double rayon) {
+        graphiques.fill(new Ellipse2D.Double(abscisse - rayon,
+                ordonnee - rayon, 2 * rayon, 2 * rayon));
     }
 
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        final int rayon = getTaille() + 6;
-        dessinerRond(toile, getPosition().virtuelle(repere),
-                getCouleur().deriveColor(1, 1, 1, 0.3), rayon);
+        if (spriteSurvol == null) {
+            spriteSurvol = sprite(new Style(getCouleur(), getTaille(), true,
+                    true));
+        }
+        dessinerSprite(toile, spriteSurvol, repere);
+    }
+
+    /**
+     * Dessine une image de ce point centrée à sa position virtuelle.
+     *
+     * @param toile la toile sur laquelle dessiner l'image.
+     * @param sprite l'image du point.
+     * @param repere le repère de l'espace du point.
+     */
+    private void dessinerSprite(@NotNull final Canvas toile,
+            @NotNull final Image sprite, @NotNull final Repere repere) {
+        toile.getGraphicsContext2D().drawImage(sprite,
+                abscisseVirtuelle(repere) - sprite.getWidth() / 2,
+                ordonneeVirtuelle(repere) - sprite.getHeight() / 2);
+    }
+
+    /**
+     * Récupère l'image d'un style de point. L'image est rendue et mise en
+     * cache si elle n'a pas déjà été rendue.
+     *
+     * @param style le style du point.
+     * @return l'image du style de point.
+     */
+    private static Image sprite(@NotNull final Style style) {
+        Image sprite = SPRITES.get(style);
+        if (sprite == null) {
+            sprite = rendreSprite(style);
+            SPRITES.put(style, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Rend l'image d'un style de point sur une toile transparente. La toile
+     * est carrée, de côté impair, de telle sorte que le centre du point
+     * corresponde au centre d'un pixel.
+     *
+     * @param style le style du point.
+     * @return l'image du style de point.
+     */
+    private static Image rendreSprite(@NotNull final Style style) {
+        final int rayon;
+        if (style.survol) {
+            rayon = style.taille + MARGE_SURVOL;
+        } else if (style.bordure) {
+            rayon = style.taille + TAILLE_BORDURE;
+        } else {
+            rayon = style.taille;
+        }
+        final int cote = 2 * rayon + 3;
+        final Canvas toile = new Canvas(cote, cote);
+        final Vector2D centre = new Vector2D(cote / 2.0, cote / 2.0);
+        if (style.survol) {
+            dessinerRond(toile, centre, style.couleur.deriveColor(1, 1, 1, 0.3),
+                    rayon);
+        } else {
+            if (style.bordure) {
+                dessinerRond(toile, centre, COULEUR_BORDURE, rayon);
+            }
+            dessinerRond(toile, centre, style.couleur, style.taille);
+        }
+        final SnapshotParameters parametres = new SnapshotParameters();
+        parametres.setFill(Color.TRANSPARENT);
+        return toile.snapshot(parametres, null);
+    }
+
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        final double rayon = getTaille() + TAILLE_BORDURE;
+        return new Rectangle2D(abscisseVirtuelle(repere) - rayon,
+                ordonneeVirtuelle(repere) - rayon, 2 * rayon, 2 * rayon);
     }
 
     /**
@@ -139,10 +417,77 @@ public class Point extends Forme {
     @Override
     public double distance(@NotNull final Position curseur,
             @NotNull final Repere repere) {
-        return Math.max(0, getPosition().distance(curseur, VIRTUELLE, repere)
+        final Vector2D positionCurseur = curseur.virtuelle(repere);
+        return Math.max(0, Math.hypot(
+                positionCurseur.getX() - abscisseVirtuelle(repere),
+                positionCurseur.getY() - ordonneeVirtuelle(repere))
                 - getTaille());
     }
 
+    /**
+     * Un style de point est défini par la couleur, la taille, l'état de
+     * surbrillance et la présence de la bordure du point. Il sert de clé à la
+     * cache des images de point.
+     */
+    private static final class Style {
+
+        /**
+         * La couleur du point.
+         */
+        private final Color couleur;
+
+        /**
+         * La taille du point.
+         */
+        private final int taille;
+
+        /**
+         * Si le style est celui de la surbrillance du point.
+         */
+        private final boolean survol;
+
+        /**
+         * Si la bordure du point est dessinée.
+         */
+        private final boolean bordure;
+
+        /**
+         * Construit un style de point.
+         *
+         * @param couleur la couleur du point.
+         * @param taille la taille du point.
+         * @param survol si le style est celui de la surbrillance.
+         * @param bordure si la bordure du point est dessinée.
+         */
+        private Style(@NotNull final Color couleur, final int taille,
+                final boolean survol, final boolean bordure) {
+            this.couleur = couleur;
+            this.taille = taille;
+            this.survol = survol;
+            this.bordure = bordure;
+        }
+
+        @Override
+        public boolean equals(final Object objet) {
+            if (this == objet) {
+                return true;
+            }
+            if (!(objet instanceof Style)) {
+                return false;
+            }
+            final Style style = (Style) objet;
+            return taille == style.taille && survol == style.survol
+                    && bordure == style.bordure
+                    && couleur.equals(style.couleur);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(couleur, taille, survol, bordure);
+        }
+
+    }
+
     protected final ObjectProperty<Position> positionProperty() {
         return position;
     }
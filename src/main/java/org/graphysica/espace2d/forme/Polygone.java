@@ -17,16 +17,22 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import java.awt.geom.Path2D;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.paint.Color;
 import org.apache.commons.math3.geometry.euclidean.twod.Segment;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.position.PositionReelle;
+import org.graphysica.espace2d.rendu.ListeAffichage;
+import org.graphysica.espace2d.rendu.Trace;
 
 /**
  * Un polygone est une aire formée par une séquence de points dans l'espace.
@@ -45,6 +51,19 @@ public class Polygone extends Aire {
     private final LinkedHashSet<ObjectProperty<Position>> points 
             = new LinkedHashSet<>();
 
+    /**
+     * La liste d'affichage du contour du polygone, enregistrée lorsque tous
+     * ses points sont réels. Elle est invalidée lorsqu'un point est modifié.
+     */
+    private final ListeAffichage listeAffichage = new ListeAffichage();
+
+    /**
+     * L'événement d'invalidation de la liste d'affichage.
+     */
+    private final InvalidationListener invalidationListe = (observable) -> {
+        listeAffichage.invalider();
+    };
+
     /**
      * Construit un polygone aux points non-définis.
      */
@@ -61,24 +80,94 @@ public class Polygone extends Aire {
         setCouleur(COULEUR_PAR_DEFAUT);
     }
 
-    {
-        points.forEach((point) -> {
-            proprietes.add(point);
-        });
+    @Override
+    public void dessinerNormal(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        dessinerPolygone(toile, repere, getCouleur());
     }
 
     @Override
-    public void dessinerNormal(@NotNull final Canvas toile,
+    public Trace trace(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        dessinerPolygone(toile, repere.positionsVirtuelles(getPoints(repere)),
-                getCouleur());
+        final Vector2D[] pointsVirtuels = repere.positionsVirtuelles(
+                getPoints(repere));
+        if (pointsVirtuels.length == 0) {
+            return Trace.AUCUNE;
+        }
+        final Path2D contour = new Path2D.Double();
+        contour.moveTo(pointsVirtuels[0].getX(), pointsVirtuels[0].getY());
+        for (int i = 1; i < pointsVirtuels.length; i++) {
+            contour.lineTo(pointsVirtuels[i].getX(), pointsVirtuels[i].getY());
+        }
+        contour.closePath();
+        final java.awt.Color couleur = couleurAwt(getCouleur());
+        return (graphiques) -> {
+            graphiques.setColor(couleur);
+            graphiques.fill(contour);
+        };
     }
 
     @Override
     public void dessinerSurvol(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
-        dessinerPolygone(toile, repere.positionsVirtuelles(getPoints(repere)),
-                getCouleur().darker());
+        dessinerPolygone(toile, repere, getCouleur().darker());
+    }
+
+    @Override
+    public Rectangle2D limites(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        return limites(0, repere.positionsVirtuelles(getPoints(repere)));
+    }
+
+    /**
+     * Dessine ce polygone d'une couleur définie sur une toile. Si ses points
+     * sont réels, le polygone est rempli en rejouant sa liste d'affichage
+     * selon le repère plutôt qu'en recalculant ses positions virtuelles.
+     *
+     * @param toile la toile sur laquelle dessiner le polygone.
+     * @param repere le repère de l'espace.
+     * @param couleur la couleur du polygone.
+     */
+    private void dessinerPolygone(@NotNull final Canvas toile,
+            @NotNull final Repere repere, @NotNull final Color couleur) {
+        if (!enregistrerListe()) {
+            dessinerPolygone(toile, repere.positionsVirtuelles(
+                    getPoints(repere)), couleur);
+            return;
+        }
+        final EtatGraphique etat = EtatGraphique.de(toile);
+        final GraphicsContext contexteGraphique = etat.getContexteGraphique();
+        etat.definirRemplissage(couleur);
+        listeAffichage.rejouer(contexteGraphique, repere);
+        contexteGraphique.fill();
+    }
+
+    /**
+     * Enregistre la liste d'affichage du contour du polygone si elle n'est pas
+     * déjà enregistrée.
+     *
+     * @return {@code true} si la liste d'affichage est enregistrée, ou
+     * {@code false} si un point du polygone n'est pas réel.
+     */
+    private boolean enregistrerListe() {
+        if (listeAffichage.isEnregistree()) {
+            return true;
+        }
+        for (final ObjectProperty<Position> point : points) {
+            if (!(point.getValue() instanceof PositionReelle)) {
+                return false;
+            }
+        }
+        listeAffichage.commencer();
+        for (final ObjectProperty<Position> point : points) {
+            if (listeAffichage.getNombrePoints() == 0) {
+                listeAffichage.deplacer(point.getValue().getValeur());
+            } else {
+                listeAffichage.tracer(point.getValue().getValeur());
+            }
+        }
+        listeAffichage.fermer();
+        return true;
     }
 
     /**
@@ -92,9 +181,9 @@ public class Polygone extends Aire {
     private static void dessinerPolygone(@NotNull final Canvas toile,
             @NotNull final Vector2D[] pointsVirtuels,
             @NotNull final Color couleur) {
-        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
-        contexteGraphique.setFill(couleur);
-        contexteGraphique.fillPolygon(abscisses(pointsVirtuels),
+        final EtatGraphique etat = EtatGraphique.de(toile);
+        etat.definirRemplissage(couleur);
+        etat.getContexteGraphique().fillPolygon(abscisses(pointsVirtuels),
                 ordonnees(pointsVirtuels), pointsVirtuels.length);
     }
 
@@ -214,7 +303,10 @@ public class Polygone extends Aire {
             @NotNull final ObjectProperty<Position>... points) {
         for (final ObjectProperty<Position> point : points) {
             this.points.add(point);
+            proprietes.add(point);
+            point.addListener(invalidationListe);
         }
+        listeAffichage.invalider();
     }
 
 }
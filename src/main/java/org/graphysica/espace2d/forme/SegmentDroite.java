@@ -17,13 +17,17 @@
 package org.graphysica.espace2d.forme;
 
 import com.sun.istack.internal.NotNull;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.apache.commons.math3.geometry.euclidean.twod.Segment;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.Position;
 import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.position.PositionReelle;
+import org.graphysica.espace2d.rendu.ListeAffichage;
 
 /**
  * Un segment de droite relie deux points distincts dans l'espace.
@@ -32,6 +36,12 @@ import org.graphysica.espace2d.Repere;
  */
 public class SegmentDroite extends Ligne {
 
+    /**
+     * La liste d'affichage du segment, enregistrée lorsque ses deux positions
+     * sont réelles. Elle est invalidée lorsqu'une position est modifiée.
+     */
+    private final ListeAffichage listeAffichage = new ListeAffichage();
+
     /**
      * Construit un segment de droite reliant deux positions.
      *
@@ -59,6 +69,65 @@ public class SegmentDroite extends Ligne {
         couleurProperty().bind(couleur);
     }
 
+    {
+        final InvalidationListener invalidationListe = (observable) -> {
+            listeAffichage.invalider();
+        };
+        position1.addListener(invalidationListe);
+        position2.addListener(invalidationListe);
+    }
+
+    /**
+     * Dessine le segment dans son état normal. Si ses positions sont réelles,
+     * le segment est tracé en rejouant sa liste d'affichage selon le repère
+     * directement dans le chemin du contexte graphique, sans construire de
+     * positions virtuelles.
+     *
+     * @param toile la toile sur laquelle dessiner le segment.
+     * @param repere le repère de l'espace.
+     */
+    @Override
+    public void dessinerNormal(@NotNull final Canvas toile,
+            @NotNull final Repere repere) {
+        if (!enregistrerListe()) {
+            super.dessinerNormal(toile, repere);
+            return;
+        }
+        if (!dessinerSiReduite(toile,
+                listeAffichage.abscisseVirtuelle(0, repere),
+                listeAffichage.ordonneeVirtuelle(0, repere),
+                listeAffichage.abscisseVirtuelle(1, repere),
+                listeAffichage.ordonneeVirtuelle(1, repere), getCouleur())) {
+            final GraphicsContext contexteGraphique
+                    = toile.getGraphicsContext2D();
+            EtatGraphique.de(toile).definirTrait(getCouleur(), getEpaisseur());
+            listeAffichage.rejouer(contexteGraphique, repere);
+            contexteGraphique.stroke();
+        }
+    }
+
+    /**
+     * Enregistre la liste d'affichage du segment si elle n'est pas déjà
+     * enregistrée.
+     *
+     * @return {@code true} si la liste d'affichage est enregistrée, ou
+     * {@code false} si une position du segment n'est pas réelle.
+     */
+    private boolean enregistrerListe() {
+        if (!listeAffichage.isEnregistree()) {
+            final Position origine = getPosition1();
+            final Position arrivee = getPosition2();
+            if (!(origine instanceof PositionReelle)
+                    || !(arrivee instanceof PositionReelle)) {
+                return false;
+            }
+            listeAffichage.commencer();
+            listeAffichage.deplacer(origine.getValeur());
+            listeAffichage.tracer(arrivee.getValeur());
+        }
+        return true;
+    }
+
     @Override
     public void calculerOrigineEtArrivee(@NotNull final Canvas toile,
             @NotNull final Repere repere) {
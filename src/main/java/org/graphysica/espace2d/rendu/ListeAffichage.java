@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.rendu;
+
+import com.sun.istack.internal.NotNull;
+import java.util.Arrays;
+import javafx.scene.canvas.GraphicsContext;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.Repere;
+
+/**
+ * Une liste d'affichage enregistre la géométrie d'une forme en coordonnées
+ * réelles sous la forme de tableaux primitifs d'opérations de chemin. Lorsque
+ * seul le repère est modifié, la liste est rejouée selon la transformation
+ * actuelle du repère plutôt que de recalculer la géométrie de la forme à
+ * partir de ses positions.
+ * <p>
+ * La liste est enregistrée une seule fois, puis conservée jusqu'à ce qu'elle
+ * soit invalidée par la modification des propriétés de sa forme.
+ * <p>
+ * Une liste peut aussi être enregistrée directement en coordonnées virtuelles
+ * lorsque la géométrie dépend de la toile, puis être rejouée sans
+ * transformation. Ses tableaux sont alors réutilisés d'une image à l'autre.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public final class ListeAffichage {
+
+    /**
+     * L'opération de déplacement du chemin vers un point.
+     */
+    private static final byte DEPLACER = 0;
+
+    /**
+     * L'opération de tracé du chemin jusqu'à un point.
+     */
+    private static final byte TRACER = 1;
+
+    /**
+     * L'opération de fermeture du chemin.
+     */
+    private static final byte FERMER = 2;
+
+    /**
+     * La capacité initiale de la liste, exprimée en nombre d'opérations.
+     */
+    private static final int CAPACITE_INITIALE = 4;
+
+    /**
+     * Les opérations de la liste.
+     */
+    private byte[] operations = new byte[CAPACITE_INITIALE];
+
+    /**
+     * Les coordonnées réelles des points de la liste, alternant les abscisses
+     * et les ordonnées.
+     */
+    private double[] coordonnees = new double[2 * CAPACITE_INITIALE];
+
+    /**
+     * Le nombre d'opérations de la liste.
+     */
+    private int nombreOperations = 0;
+
+    /**
+     * Le nombre de points de la liste.
+     */
+    private int nombrePoints = 0;
+
+    /**
+     * Si la liste est enregistrée et reflète la géométrie de sa forme.
+     */
+    private boolean enregistree = false;
+
+    /**
+     * Commence l'enregistrement de la liste en retirant ses opérations.
+     */
+    public void commencer() {
+        nombreOperations = 0;
+        nombrePoints = 0;
+        enregistree = true;
+    }
+
+    /**
+     * Invalide la liste, qui doit être enregistrée à nouveau avant d'être
+     * rejouée.
+     */
+    public void invalider() {
+        enregistree = false;
+    }
+
+    /**
+     * Détermine si la liste est enregistrée.
+     *
+     * @return {@code true} si la liste reflète la géométrie de sa forme.
+     */
+    public boolean isEnregistree() {
+        return enregistree;
+    }
+
+    /**
+     * Ajoute le déplacement du chemin vers un point réel.
+     *
+     * @param point le point réel.
+     */
+    public void deplacer(@NotNull final Vector2D point) {
+        deplacer(point.getX(), point.getY());
+    }
+
+    /**
+     * Ajoute le déplacement du chemin vers un point.
+     *
+     * @param abscisse l'abscisse du point.
+     * @param ordonnee l'ordonnée du point.
+     */
+    public void deplacer(final double abscisse, final double ordonnee) {
+        ajouter(DEPLACER, abscisse, ordonnee);
+    }
+
+    /**
+     * Ajoute le tracé du chemin jusqu'à un point réel.
+     *
+     * @param point le point réel.
+     */
+    public void tracer(@NotNull final Vector2D point) {
+        tracer(point.getX(), point.getY());
+    }
+
+    /**
+     * Ajoute le tracé du chemin jusqu'à un point.
+     *
+     * @param abscisse l'abscisse du point.
+     * @param ordonnee l'ordonnée du point.
+     */
+    public void tracer(final double abscisse, final double ordonnee) {
+        ajouter(TRACER, abscisse, ordonnee);
+    }
+
+    /**
+     * Ajoute la fermeture du chemin.
+     */
+    public void fermer() {
+        ajouter(FERMER);
+    }
+
+    /**
+     * Ajoute une opération portant sur un point.
+     *
+     * @param operation l'opération.
+     * @param abscisse l'abscisse du point.
+     * @param ordonnee l'ordonnée du point.
+     */
+    private void ajouter(final byte operation, final double abscisse,
+            final double ordonnee) {
+        if (2 * nombrePoints + 2 > coordonnees.length) {
+            coordonnees = Arrays.copyOf(coordonnees, 2 * coordonnees.length);
+        }
+        coordonnees[2 * nombrePoints] = abscisse;
+        coordonnees[2 * nombrePoints + 1] = ordonnee;
+        nombrePoints++;
+        ajouter(operation);
+    }
+
+    /**
+     * Ajoute une opération.
+     *
+     * @param operation l'opération.
+     */
+    private void ajouter(final byte operation) {
+        if (nombreOperations == operations.length) {
+            operations = Arrays.copyOf(operations, 2 * operations.length);
+        }
+        operations[nombreOperations++] = operation;
+    }
+
+    /**
+     * Rejoue la liste dans le chemin d'un contexte graphique selon la
+     * transformation actuelle d'un repère. Les points sont transformés par
+     * le repère lui-même. Le chemin est recommencé, puis il
+     * peut être tracé ou rempli par l'appelant.
+     *
+     * @param contexteGraphique le contexte graphique du chemin.
+     * @param repere le repère de l'espace.
+     */
+    public void rejouer(@NotNull final GraphicsContext contexteGraphique,
+            @NotNull final Repere repere) {
+        contexteGraphique.beginPath();
+        ajouterAuChemin(contexteGraphique, repere);
+    }
+
+    /**
+     * Rejoue sans transformation une liste enregistrée en coordonnées
+     * virtuelles dans le chemin d'un contexte graphique. Le chemin est
+     * recommencé, puis il peut être tracé ou rempli par l'appelant.
+     *
+     * @param contexteGraphique le contexte graphique du chemin.
+     */
+    public void rejouer(@NotNull final GraphicsContext contexteGraphique) {
+        contexteGraphique.beginPath();
+        ajouterAuChemin(contexteGraphique, null);
+    }
+
+    /**
+     * Ajoute les opérations de la liste au chemin d'un contexte graphique,
+     * sans le recommencer.
+     *
+     * @param contexteGraphique le contexte graphique du chemin.
+     * @param repere le repère transformant les points réels de la liste, ou
+     * {@code null} si la liste est enregistrée en coordonnées virtuelles.
+     */
+    private void ajouterAuChemin(
+            @NotNull final GraphicsContext contexteGraphique,
+            final Repere repere) {
+        int point = 0;
+        for (int i = 0; i < nombreOperations; i++) {
+            switch (operations[i]) {
+                case DEPLACER:
+                    contexteGraphique.moveTo(abscisse(point, repere),
+                            ordonnee(point, repere));
+                    point++;
+                    break;
+                case TRACER:
+                    contexteGraphique.lineTo(abscisse(point, repere),
+                            ordonnee(point, repere));
+                    point++;
+                    break;
+                default:
+                    contexteGraphique.closePath();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Calcule l'abscisse virtuelle d'un point de la liste.
+     *
+     * @param point l'indice du point dans la liste.
+     * @param repere le repère de l'espace.
+     * @return l'abscisse virtuelle du point.
+     */
+    public double abscisseVirtuelle(final int point,
+            @NotNull final Repere repere) {
+        return repere.abscisseVirtuelle(coordonnees[2 * point]);
+    }
+
+    /**
+     * Calcule l'ordonnée virtuelle d'un point de la liste.
+     *
+     * @param point l'indice du point dans la liste.
+     * @param repere le repère de l'espace.
+     * @return l'ordonnée virtuelle du point.
+     */
+    public double ordonneeVirtuelle(final int point,
+            @NotNull final Repere repere) {
+        return repere.ordonneeVirtuelle(coordonnees[2 * point + 1]);
+    }
+
+    /**
+     * Récupère l'abscisse d'un point de la liste dans le système de
+     * coordonnées de son enregistrement, ou transformée par un repère.
+     *
+     * @param point l'indice du point dans la liste.
+     * @param repere le repère de l'espace, ou {@code null}.
+     * @return l'abscisse du point.
+     */
+    private double abscisse(final int point, final Repere repere) {
+        return repere == null ? getAbscisse(point)
+                : abscisseVirtuelle(point, repere);
+    }
+
+    /**
+     * Récupère l'ordonnée d'un point de la liste dans le système de
+     * coordonnées de son enregistrement, ou transformée par un repère.
+     *
+     * @param point l'indice du point dans la liste.
+     * @param repere le repère de l'espace, ou {@code null}.
+     * @return l'ordonnée du point.
+     */
+    private double ordonnee(final int point, final Repere repere) {
+        return repere == null ? getOrdonnee(point)
+                : ordonneeVirtuelle(point, repere);
+    }
+
+    /**
+     * Récupère l'abscisse d'un point telle qu'elle a été enregistrée.
+     *
+     * @param point l'indice du point dans la liste.
+     * @return l'abscisse enregistrée du point.
+     */
+    public double getAbscisse(final int point) {
+        return coordonnees[2 * point];
+    }
+
+    /**
+     * Récupère l'ordonnée d'un point telle qu'elle a été enregistrée.
+     *
+     * @param point l'indice du point dans la liste.
+     * @return l'ordonnée enregistrée du point.
+     */
+    public double getOrdonnee(final int point) {
+        return coordonnees[2 * point + 1];
+    }
+
+    /**
+     * Récupère le nombre de sous-chemins de la liste, c'est-à-dire le nombre
+     * de déplacements qu'elle contient.
+     *
+     * @return le nombre de sous-chemins.
+     */
+    public int getNombreSousChemins() {
+        int sousChemins = 0;
+        for (int i = 0; i < nombreOperations; i++) {
+            if (operations[i] == DEPLACER) {
+                sousChemins++;
+            }
+        }
+        return sousChemins;
+    }
+
+    public int getNombrePoints() {
+        return nombrePoints;
+    }
+
+}
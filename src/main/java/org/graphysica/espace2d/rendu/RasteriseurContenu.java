@@ -0,0 +1,280 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.rendu;
+
+import com.sun.istack.internal.NotNull;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+import javafx.application.Platform;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Un rastériseur de contenu dessine des traces sur un fil d'exécution
+ * d'arrière-plan dans une image en mémoire, puis publie l'image terminée au
+ * fil d'exécution de l'application JavaFX, qui n'a plus qu'à la copier sur sa
+ * toile.
+ * <p>
+ * Le rastériseur utilise deux tampons d'image. Les traces sont dessinées dans
+ * le tampon arrière, qui est échangé avec le tampon avant une fois l'image
+ * terminée. Seule la dernière demande de rendu est conservée : les demandes
+ * soumises pendant un rendu remplacent celles qui n'ont pas encore été
+ * commencées.
+ * <p>
+ * Chaque demande de rendu porte une génération. Une image publiée dont la
+ * génération n'est plus la plus récente est périmée et devrait être ignorée.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public final class RasteriseurContenu {
+
+    /**
+     * L'utilitaire d'enregistrement de traces d'exécution.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+            RasteriseurContenu.class);
+
+    /**
+     * L'exécuteur des rendus, composé d'un seul fil d'exécution démon.
+     */
+    private final ExecutorService executeur
+            = Executors.newSingleThreadExecutor((tache) -> {
+                final Thread fil = new Thread(tache, "Rendu du contenu");
+                fil.setDaemon(true);
+                return fil;
+            });
+
+    /**
+     * La réception des générations des images publiées, appelée sur le fil
+     * d'exécution de l'application JavaFX.
+     */
+    private final LongConsumer publication;
+
+    /**
+     * La génération de la dernière demande de rendu soumise ou annulée.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * La demande de rendu en attente, ou {@code null} si aucune demande n'est
+     * en attente.
+     */
+    private final AtomicReference<Demande> demandeEnAttente
+            = new AtomicReference<>();
+
+    /**
+     * Le verrou de l'échange des tampons d'image.
+     */
+    private final Object verrou = new Object();
+
+    /**
+     * Le tampon dans lequel les traces sont dessinées. Il n'est manipulé que
+     * par le fil d'exécution du rendu.
+     */
+    private BufferedImage tamponArriere;
+
+    /**
+     * Le tampon de la dernière image terminée.
+     */
+    private BufferedImage tamponAvant;
+
+    /**
+     * L'image JavaFX dans laquelle le tampon avant est copié.
+     */
+    private WritableImage image;
+
+    /**
+     * Construit un rastériseur de contenu dont la réception des images
+     * publiées est définie.
+     *
+     * @param publication la réception des générations des images publiées.
+     */
+    public RasteriseurContenu(@NotNull final LongConsumer publication) {
+        this.publication = publication;
+    }
+
+    /**
+     * Soumet une demande de rendu. La demande remplace la demande en attente
+     * si le rendu de celle-ci n'a pas encore été commencé.
+     *
+     * @param traces les traces à dessiner, dans leur ordre de rendu.
+     * @param largeur la largeur de l'image, exprimée en pixels.
+     * @param hauteur la hauteur de l'image, exprimée en pixels.
+     * @return la génération de la demande.
+     */
+    public long soumettre(@NotNull final List<Trace> traces,
+            final int largeur, final int hauteur) {
+        final Demande demande = new Demande(generation.incrementAndGet(),
+                traces, largeur, hauteur);
+        if (demandeEnAttente.getAndSet(demande) == null) {
+            executeur.execute(this::rendre);
+        }
+        return demande.generation;
+    }
+
+    /**
+     * Annule les demandes de rendu soumises. Les images de ces demandes sont
+     * périmées lorsqu'elles sont publiées.
+     */
+    public void annuler() {
+        generation.incrementAndGet();
+        demandeEnAttente.set(null);
+    }
+
+    /**
+     * Arrête le fil d'exécution du rendu. Le rastériseur ne peut plus être
+     * utilisé par la suite.
+     */
+    public void arreter() {
+        annuler();
+        executeur.shutdownNow();
+    }
+
+    /**
+     * Rend la demande en attente dans le tampon arrière, puis l'échange avec
+     * le tampon avant et publie sa génération.
+     */
+    private void rendre() {
+        final Demande demande = demandeEnAttente.getAndSet(null);
+        if (demande == null || demande.generation != generation.get()) {
+            return;
+        }
+        if (tamponArriere == null
+                || tamponArriere.getWidth() != demande.largeur
+                || tamponArriere.getHeight() != demande.hauteur) {
+            tamponArriere = new BufferedImage(demande.largeur, demande.hauteur,
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        final Graphics2D graphiques = tamponArriere.createGraphics();
+        try {
+            graphiques.setComposite(AlphaComposite.Clear);
+            graphiques.fillRect(0, 0, demande.largeur, demande.hauteur);
+            graphiques.setComposite(AlphaComposite.SrcOver);
+            graphiques.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            graphiques.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            for (final Trace trace : demande.traces) {
+                trace.tracer(graphiques);
+            }
+        } catch (final RuntimeException exception) {
+            LOGGER.error("Le rendu du contenu a échoué.", exception);
+            return;
+        } finally {
+            graphiques.dispose();
+        }
+        synchronized (verrou) {
+            final BufferedImage tampon = tamponAvant;
+            tamponAvant = tamponArriere;
+            tamponArriere = tampon;
+        }
+        Platform.runLater(() -> publication.accept(demande.generation));
+    }
+
+    /**
+     * Récupère l'image de la dernière demande de rendu terminée. Cette méthode
+     * doit être appelée à partir du fil d'exécution de l'application JavaFX.
+     *
+     * @return l'image du tampon avant, ou {@code null} si aucun rendu n'a été
+     * terminé.
+     */
+    public WritableImage image() {
+        synchronized (verrou) {
+            if (tamponAvant == null) {
+                return null;
+            }
+            final int largeur = tamponAvant.getWidth();
+            final int hauteur = tamponAvant.getHeight();
+            if (image == null || image.getWidth() != largeur
+                    || image.getHeight() != hauteur) {
+                image = new WritableImage(largeur, hauteur);
+            }
+            final int[] pixels = ((DataBufferInt) tamponAvant.getRaster()
+                    .getDataBuffer()).getData();
+            image.getPixelWriter().setPixels(0, 0, largeur, hauteur,
+                    PixelFormat.getIntArgbPreInstance(), pixels, 0, largeur);
+        }
+        return image;
+    }
+
+    /**
+     * Récupère la génération de la dernière demande de rendu soumise ou
+     * annulée.
+     *
+     * @return la génération actuelle.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Une demande de rendu est définie par sa génération, ses traces et les
+     * dimensions de son image.
+     */
+    private static final class Demande {
+
+        /**
+         * La génération de la demande.
+         */
+        private final long generation;
+
+        /**
+         * Les traces à dessiner.
+         */
+        private final List<Trace> traces;
+
+        /**
+         * La largeur de l'image, exprimée en pixels.
+         */
+        private final int largeur;
+
+        /**
+         * La hauteur de l'image, exprimée en pixels.
+         */
+        private final int hauteur;
+
+        /**
+         * Construit une demande de rendu.
+         *
+         * @param generation la génération de la demande.
+         * @param traces les traces à dessiner.
+         * @param largeur la largeur de l'image.
+         * @param hauteur la hauteur de l'image.
+         */
+        private Demande(final long generation,
+                @NotNull final List<Trace> traces, final int largeur,
+                final int hauteur) {
+            this.generation = generation;
+            this.traces = traces;
+            this.largeur = largeur;
+            this.hauteur = hauteur;
+        }
+
+    }
+
+}
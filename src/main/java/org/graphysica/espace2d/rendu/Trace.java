@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.rendu;
+
+import com.sun.istack.internal.NotNull;
+import java.awt.Graphics2D;
+
+/**
+ * Une trace est l'instantané du dessin d'une forme, construit sur le fil
+ * d'exécution de l'application JavaFX. Elle ne conserve que des valeurs
+ * immuables, de telle sorte qu'elle puisse être dessinée sur un autre fil
+ * d'exécution sans consulter la forme ou le repère.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public interface Trace {
+
+    /**
+     * La trace qui ne dessine rien.
+     */
+    public static final Trace AUCUNE = (graphiques) -> {
+    };
+
+    /**
+     * Dessine la trace dans un contexte graphique Java2D.
+     *
+     * @param graphiques le contexte graphique de dessin.
+     */
+    public void tracer(@NotNull final Graphics2D graphiques);
+
+}
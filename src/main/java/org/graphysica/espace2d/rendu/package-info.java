@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * Le rendu logiciel permet de tramer le calque de contenu d'un espace sur un
+ * fil d'exécution d'arrière-plan. Les formes y sont représentées par des
+ * traces indépendantes de l'état de l'application, dessinées avec Java2D dans
+ * une image publiée au fil d'exécution de l'application JavaFX.
+ */
+package org.graphysica.espace2d.rendu;
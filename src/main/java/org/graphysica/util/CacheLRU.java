@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.util;
+
+import com.sun.istack.internal.NotNull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Une cache LRU est une association de capacité fixe qui retire les entrées
+ * les moins récemment utilisées lorsque sa capacité est dépassée.
+ * <p>
+ * La capacité est exprimée en poids. Par défaut, chaque entrée pèse un, de
+ * telle sorte que la capacité corresponde au nombre d'entrées. Une pondération
+ * des valeurs permet plutôt de borner la cache selon la mémoire occupée par
+ * ses valeurs. Le poids des entrées est tenu à jour par {@link #put},
+ * {@link #remove(Object)} et {@link #clear()}, seules opérations de
+ * modification de la cache.
+ * <p>
+ * La cache compte les succès et les échecs de ses consultations par
+ * {@link #get(Object)} ainsi que les entrées retirées faute de capacité.
+ *
+ * @author Marc-Antoine Ouimet
+ * @param <K> le type des clés de la cache.
+ * @param <V> le type des valeurs de la cache.
+ */
+public class CacheLRU<K, V> {
+
+    /**
+     * Les entrées de la cache, ordonnées de la moins récemment utilisée à la
+     * plus récemment utilisée.
+     */
+    private final LinkedHashMap<K, V> entrees
+            = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * La capacité par défaut d'une cache LRU.
+     */
+    private static final int CAPACITE_PAR_DEFAUT = 100;
+
+    /**
+     * La capacité de cette cache LRU.
+     */
+    private long capacite = CAPACITE_PAR_DEFAUT;
+
+    /**
+     * La pondération des valeurs de la cache.
+     */
+    private final ToLongFunction<? super V> ponderation;
+
+    /**
+     * Le poids total des entrées de la cache.
+     */
+    private long poids = 0;
+
+    /**
+     * Le nombre de consultations de la cache qui ont trouvé une valeur.
+     */
+    private long succes = 0;
+
+    /**
+     * Le nombre de consultations de la cache qui n'ont pas trouvé de valeur.
+     */
+    private long echecs = 0;
+
+    /**
+     * Le nombre d'entrées retirées de la cache faute de capacité.
+     */
+    private long retraits = 0;
+
+    /**
+     * Construit une cache LRU de capacité par défaut.
+     */
+    public CacheLRU() {
+        this((valeur) -> 1);
+    }
+
+    /**
+     * Construit une cache LRU de capacité spécifiée.
+     *
+     * @param capacite le nombre maximal d'entrées de cette cache.
+     */
+    public CacheLRU(final int capacite) {
+        this();
+        setCapacite(capacite);
+    }
+
+    /**
+     * Construit une cache LRU dont la capacité et la pondération des valeurs
+     * sont spécifiées.
+     *
+     * @param capacite le poids total maximal des entrées de cette cache.
+     * @param ponderation la pondération des valeurs de la cache.
+     */
+    public CacheLRU(final long capacite,
+            @NotNull final ToLongFunction<? super V> ponderation) {
+        this(ponderation);
+        setCapacite(capacite);
+    }
+
+    /**
+     * Construit une cache LRU de capacité par défaut dont la pondération des
+     * valeurs est spécifiée.
+     *
+     * @param ponderation la pondération des valeurs de la cache.
+     */
+    private CacheLRU(@NotNull final ToLongFunction<? super V> ponderation) {
+        this.ponderation = ponderation;
+    }
+
+    /**
+     * Consulte la valeur associée à une clé et compte le succès ou l'échec de
+     * la consultation.
+     *
+     * @param cle la clé de la valeur.
+     * @return la valeur associée à la clé, ou {@code null} si la clé n'est pas
+     * dans la cache.
+     */
+    public V get(final Object cle) {
+        final V valeur = entrees.get(cle);
+        if (valeur == null) {
+            echecs++;
+        } else {
+            succes++;
+        }
+        return valeur;
+    }
+
+    /**
+     * Associe une valeur à une clé, puis retire les entrées les moins
+     * récemment utilisées jusqu'à ce que la capacité de la cache soit
+     * respectée. L'entrée ajoutée n'est jamais retirée, même si son poids
+     * dépasse à lui seul la capacité.
+     *
+     * @param cle la clé de la valeur.
+     * @param valeur la valeur à associer à la clé.
+     * @return la valeur précédemment associée à la clé.
+     */
+    public V put(final K cle, final V valeur) {
+        final V precedente = entrees.put(cle, valeur);
+        if (precedente != null) {
+            poids -= ponderation.applyAsLong(precedente);
+        }
+        poids += ponderation.applyAsLong(valeur);
+        retirerExcedent();
+        return precedente;
+    }
+
+    /**
+     * Retire l'entrée associée à une clé.
+     *
+     * @param cle la clé de l'entrée à retirer.
+     * @return la valeur retirée, ou {@code null} si la clé n'est pas dans la
+     * cache.
+     */
+    public V remove(final Object cle) {
+        final V valeur = entrees.remove(cle);
+        if (valeur != null) {
+            poids -= ponderation.applyAsLong(valeur);
+        }
+        return valeur;
+    }
+
+    /**
+     * Retire toutes les entrées de la cache.
+     */
+    public void clear() {
+        entrees.clear();
+        poids = 0;
+    }
+
+    /**
+     * Détermine si une clé est dans la cache. La consultation n'est pas
+     * comptée dans les statistiques et ne modifie pas l'ordre d'utilisation
+     * des entrées.
+     *
+     * @param cle la clé à tester.
+     * @return {@code true} si la clé est dans la cache.
+     */
+    public boolean containsKey(final Object cle) {
+        return entrees.containsKey(cle);
+    }
+
+    /**
+     * Récupère le nombre d'entrées de la cache.
+     *
+     * @return le nombre d'entrées.
+     */
+    public int size() {
+        return entrees.size();
+    }
+
+    /**
+     * Retire les entrées les moins récemment utilisées tant que le poids de la
+     * cache dépasse sa capacité, en conservant au moins une entrée.
+     */
+    private void retirerExcedent() {
+        final Iterator<V> iteration = entrees.values().iterator();
+        while (poids > capacite && entrees.size() > 1) {
+            poids -= ponderation.applyAsLong(iteration.next());
+            iteration.remove();
+            retraits++;
+        }
+    }
+
+    /**
+     * Réinitialise les statistiques de consultation de la cache.
+     */
+    public final void reinitialiserStatistiques() {
+        succes = 0;
+        echecs = 0;
+        retraits = 0;
+    }
+
+    /**
+     * Définit la capacité de cette cache LRU. Les entrées excédentaires ne
+     * sont retirées qu'au prochain ajout.
+     *
+     * @param capacite le nouveau poids total maximal de la cache.
+     */
+    public final void setCapacite(final long capacite) {
+        if (capacite <= 0) {
+            this.capacite = CAPACITE_PAR_DEFAUT;
+        } else {
+            this.capacite = capacite;
+        }
+    }
+
+    public final long getCapacite() {
+        return capacite;
+    }
+
+    public final long getPoids() {
+        return poids;
+    }
+
+    public final long getSucces() {
+        return succes;
+    }
+
+    public final long getEchecs() {
+        return echecs;
+    }
+
+    public final long getRetraits() {
+        return retraits;
+    }
+
+}
@@ -141,8 +141,8 @@ public class AffichageConstruction extends BorderPane {
             public void onAdd(@NotNull final Espace espace) {
                 final Pane panneau = new Pane(espace);
                 panneaux.put(espace, panneau);
-                espace.widthProperty().bind(panneau.widthProperty());
-                espace.heightProperty().bind(panneau.heightProperty());
+                espace.prefWidthProperty().bind(panneau.widthProperty());
+                espace.prefHeightProperty().bind(panneau.heightProperty());
                 getItems().add(panneau);
                 espace.widthProperty().addListener(
                         new CentrerEspace(espace));
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.forme.Point;
+import org.graphysica.espace2d.position.Position;
+import org.graphysica.espace2d.position.PositionReelle;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste l'évitement des images d'un calque qui n'a pas été modifié.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class CalqueTest {
+
+    /**
+     * Teste qu'une propriété redéfinie à une valeur égale, ou un survol qui ne
+     * change rien, ne modifie pas le calque et que l'impulsion planifiée est
+     * évitée. Le calque est observé comme les calques d'un espace : toute
+     * modification réelle d'une propriété de la forme ou de l'état de survol
+     * modifie le calque.
+     */
+    @Test
+    public void testImagesEvitees() {
+        final Repere repere = new Repere(new Vector2D(50, 50),
+                new Vector2D(10, 10));
+        final int[] dessins = {0};
+        final Calque calque = new Calque((toile) -> {
+            dessins[0]++;
+        }, repere::getVersion);
+        final ObjectProperty<Position> position = new SimpleObjectProperty<>(
+                new PositionReelle(Vector2D.ZERO));
+        final Point point = new Point(position);
+        final ChangeListener<Object> modification = (observable, ancienne,
+                nouvelle) -> {
+            calque.modifier();
+        };
+        for (final Property<?> propriete : point.getProprietes()) {
+            propriete.addListener(modification);
+        }
+        point.enSurvolProperty().addListener((observable) -> {
+            calque.modifier();
+        });
+        final PlanificateurRendu planificateur = new PlanificateurRendu(
+                calque);
+        calque.actualiser();
+        assertFalse(calque.isModifie());
+        position.setValue(new PositionReelle(Vector2D.ZERO));
+        point.setEnSurvol(false);
+        repere.definir(new Vector2D(50, 50), new Vector2D(10, 10));
+        assertFalse(calque.isModifie());
+        planificateur.handle(0);
+        assertEquals(1, planificateur.getImagesEvitees());
+        assertEquals(0, planificateur.getImagesRendues());
+        assertEquals(1, dessins[0]);
+        repere.definir(new Vector2D(60, 50), new Vector2D(10, 10));
+        assertTrue(calque.isModifie());
+        planificateur.handle(0);
+        assertEquals(1, planificateur.getImagesEvitees());
+        assertEquals(1, planificateur.getImagesRendues());
+        assertEquals(2, dessins[0]);
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import javafx.geometry.Rectangle2D;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Teste la réservation de rectangles dans une grille d'occupation.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class GrilleOccupationTest {
+
+    /**
+     * La grille d'occupation de test, de cellules de 10 pixels sur une toile
+     * de 100 pixels par 100 pixels.
+     */
+    private GrilleOccupation grille;
+
+    @Before
+    public void initialiser() {
+        grille = new GrilleOccupation(10);
+        grille.reinitialiser(100, 100);
+    }
+
+    /**
+     * Teste la réservation de rectangles qui se chevauchent ou non.
+     */
+    @Test
+    public void testReserver() {
+        assertTrue(grille.reserver(new Rectangle2D(5, 5, 20, 10)));
+        assertFalse(grille.reserver(new Rectangle2D(20, 10, 20, 10)));
+        assertTrue(grille.reserver(new Rectangle2D(25, 5, 20, 10)));
+        assertTrue(grille.reserver(new Rectangle2D(5, 15, 20, 10)));
+        assertFalse(grille.reserver(new Rectangle2D(0, 0, 100, 100)));
+    }
+
+    /**
+     * Teste la réservation de rectangles vides ou hors de la grille.
+     */
+    @Test
+    public void testReserverHorsGrille() {
+        assertTrue(grille.reserver(Rectangle2D.EMPTY));
+        assertTrue(grille.reserver(new Rectangle2D(200, 200, 50, 50)));
+        assertTrue(grille.reserver(new Rectangle2D(200, 200, 50, 50)));
+        assertTrue(grille.reserver(new Rectangle2D(-10, -10, 15, 15)));
+        assertFalse(grille.reserver(new Rectangle2D(0, 0, 1, 1)));
+    }
+
+    /**
+     * Teste la libération des cellules lors de la réinitialisation.
+     */
+    @Test
+    public void testReinitialiser() {
+        assertTrue(grille.reserver(new Rectangle2D(0, 0, 50, 50)));
+        grille.reinitialiser(100, 100);
+        assertTrue(grille.reserver(new Rectangle2D(0, 0, 50, 50)));
+    }
+
+}
@@ -19,6 +19,8 @@ package org.graphysica.espace2d;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 
 /**
@@ -211,5 +213,71 @@ public class RepereTest {
         assertEquals(new Vector2D(2, 2), REPERE.positionReelle(
                 new Vector2D(500 + 2 * 50, 500 - 2 * 50)));
     }
+
+    @Test
+    public void testTransformer() {
+        final double[] abscissesVirtuelles = new double[3];
+        final double[] ordonneesVirtuelles = new double[3];
+        REPERE.transformer(new double[]{-1, 0, 2, 7},
+                new double[]{2, 0, -1, 7}, abscissesVirtuelles,
+                ordonneesVirtuelles, 3);
+        assertArrayEquals(new double[]{500 - 50, 500, 500 + 2 * 50},
+                abscissesVirtuelles, DELTA);
+        assertArrayEquals(new double[]{500 - 2 * 50, 500, 500 + 50},
+                ordonneesVirtuelles, DELTA);
+    }
+
+    @Test
+    public void testTampon() {
+        final Repere repere = new Repere(ORIGINE_VIRTUELLE, ECHELLE);
+        final TamponPositions tampon = repere.getTampon();
+        final int emplacement = tampon.reserver();
+        tampon.definir(emplacement, 1, 1);
+        assertEquals(500 + 50, tampon.abscisseVirtuelle(emplacement), DELTA);
+        assertEquals(500 - 50, tampon.ordonneeVirtuelle(emplacement), DELTA);
+        tampon.definir(emplacement, 2, 2);
+        assertEquals(500 + 2 * 50, tampon.abscisseVirtuelle(emplacement),
+                DELTA);
+        repere.setEchelle(new Vector2D(10, 10));
+        assertEquals(500 + 2 * 10, tampon.abscisseVirtuelle(emplacement),
+                DELTA);
+        assertEquals(500 - 2 * 10, tampon.ordonneeVirtuelle(emplacement),
+                DELTA);
+        tampon.liberer(emplacement);
+        assertEquals(emplacement, tampon.reserver());
+    }
+
+    @Test
+    public void testVersion() {
+        final Repere repere = new Repere(ORIGINE_VIRTUELLE, ECHELLE);
+        final long version = repere.getVersion();
+        final int[] invalidations = {0};
+        repere.versionProperty().addListener((observable) -> {
+            invalidations[0]++;
+        });
+        repere.definir(new Vector2D(100, 100), new Vector2D(20, 20));
+        assertEquals(version + 1, repere.getVersion());
+        assertEquals(1, invalidations[0]);
+        repere.definir(new Vector2D(100, 100), new Vector2D(20, 20));
+        assertEquals(version + 1, repere.getVersion());
+        repere.setEchelle(new Vector2D(30, 30));
+        assertEquals(version + 2, repere.getVersion());
+        assertEquals(2, invalidations[0]);
+        assertEquals(new Vector2D(100, 100), repere.getOrigineVirtuelle());
+    }
+
+    @Test
+    public void testGraduationsPartagees() {
+        final Repere repere = new Repere(ORIGINE_VIRTUELLE, ECHELLE);
+        final double[] graduations = repere.graduationsVerticales(1000, 100);
+        assertSame(graduations, repere.graduationsVerticales(1000, 100));
+        assertNotSame(graduations, repere.graduationsHorizontales(1000, 100));
+        assertNotSame(graduations, repere.graduationsVerticales(1000, 50));
+        repere.setOrigineVirtuelle(new Vector2D(510, 500));
+        final double[] deplacees = repere.graduationsVerticales(1000, 100);
+        assertNotSame(graduations, deplacees);
+        assertEquals(0, graduations[0], DELTA);
+        assertEquals(10 - 50, deplacees[0], DELTA);
+    }
     
 }
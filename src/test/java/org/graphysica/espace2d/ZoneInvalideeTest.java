@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d;
+
+import javafx.geometry.Rectangle2D;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste les zones invalidées d'une toile.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class ZoneInvalideeTest {
+
+    /**
+     * L'incertitude sur les comparaison de valeurs <code>double</code>.
+     */
+    private static final double DELTA = 1e-8;
+
+    /**
+     * La largeur de la toile de test.
+     */
+    private static final double LARGEUR = 100;
+
+    /**
+     * La hauteur de la toile de test.
+     */
+    private static final double HAUTEUR = 100;
+
+    /**
+     * Teste l'invalidation de rectangles d'une zone réinitialisée.
+     */
+    @Test
+    public void testInvalider() {
+        final ZoneInvalidee zone = new ZoneInvalidee(0.5);
+        assertTrue(zone.isComplete(LARGEUR, HAUTEUR));
+        zone.reinitialiser();
+        assertTrue(zone.isVide());
+        zone.invalider(Rectangle2D.EMPTY);
+        assertTrue(zone.isVide());
+        zone.invalider(new Rectangle2D(10.5, 10.5, 4, 4));
+        assertFalse(zone.isVide());
+        assertFalse(zone.isComplete(LARGEUR, HAUTEUR));
+        final Rectangle2D rectangle = zone.getRectangles().get(0);
+        assertEquals(9, rectangle.getMinX(), DELTA);
+        assertEquals(9, rectangle.getMinY(), DELTA);
+        assertEquals(16, rectangle.getMaxX(), DELTA);
+        assertEquals(16, rectangle.getMaxY(), DELTA);
+        assertTrue(zone.intersecte(new Rectangle2D(15, 15, 10, 10)));
+        assertFalse(zone.intersecte(new Rectangle2D(50, 50, 10, 10)));
+    }
+
+    /**
+     * Teste le passage à une zone complète lorsque l'aire invalidée dépasse le
+     * seuil.
+     */
+    @Test
+    public void testSeuil() {
+        final ZoneInvalidee zone = new ZoneInvalidee(0.5);
+        zone.reinitialiser();
+        zone.invalider(new Rectangle2D(0, 0, 60, 60));
+        assertFalse(zone.isComplete(LARGEUR, HAUTEUR));
+        zone.invalider(new Rectangle2D(30, 30, 60, 60));
+        assertTrue(zone.isComplete(LARGEUR, HAUTEUR));
+        zone.reinitialiser();
+        zone.invaliderTout();
+        assertTrue(zone.isComplete(LARGEUR, HAUTEUR));
+        assertTrue(zone.intersecte(new Rectangle2D(50, 50, 10, 10)));
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.paint.Color;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import org.scilab.forge.jlatexmath.TeXConstants;
+import org.scilab.forge.jlatexmath.TeXFormula;
+import org.scilab.forge.jlatexmath.TeXIcon;
+
+/**
+ * Teste la couleur des étiquettes selon leur chemin de dessin.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class CacheImagesEtiquettesTest {
+
+    /**
+     * Construit l'icône d'une formule de test.
+     *
+     * @return l'icône de la formule.
+     */
+    private static TeXIcon icone() {
+        return new TeXFormula("x").createTeXIcon(TeXConstants.STYLE_DISPLAY,
+                48);
+    }
+
+    /**
+     * Teste que l'icône d'une étiquette dessinée sans passer par la cache
+     * d'images est peinte de la couleur de l'étiquette, et non de la couleur
+     * par défaut des icônes ou de celle du contexte graphique.
+     */
+    @Test
+    public void testCouleurDessinDirect() {
+        final TeXIcon icone = icone();
+        final BufferedImage tampon = new BufferedImage(icone.getIconWidth(),
+                icone.getIconHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphique = tampon.createGraphics();
+        graphique.setColor(java.awt.Color.BLACK);
+        CacheImagesEtiquettes.peindre(icone, graphique, java.awt.Color.RED,
+                0, 0);
+        graphique.dispose();
+        int pixelsPeints = 0;
+        for (int y = 0; y < tampon.getHeight(); y++) {
+            for (int x = 0; x < tampon.getWidth(); x++) {
+                final int pixel = tampon.getRGB(x, y);
+                if (pixel >>> 24 != 0) {
+                    pixelsPeints++;
+                    assertEquals(0xFF0000, pixel & 0xFFFFFF);
+                }
+            }
+        }
+        assertTrue(pixelsPeints > 0);
+    }
+
+    /**
+     * Teste que l'image mise en cache d'une étiquette est de la couleur de
+     * l'étiquette.
+     */
+    @Test
+    public void testCouleurImage() {
+        final TeXIcon icone = icone();
+        final Image image = CacheImagesEtiquettes.image(icone, "x", 48,
+                Color.RED);
+        assertNotNull(image);
+        final PixelReader lecteur = image.getPixelReader();
+        int pixelsPeints = 0;
+        for (int y = 0; y < (int) image.getHeight(); y++) {
+            for (int x = 0; x < (int) image.getWidth(); x++) {
+                final int pixel = lecteur.getArgb(x, y);
+                if (pixel >>> 24 != 0) {
+                    pixelsPeints++;
+                    assertEquals(0xFF0000, pixel & 0xFFFFFF);
+                }
+            }
+        }
+        assertTrue(pixelsPeints > 0);
+    }
+
+}
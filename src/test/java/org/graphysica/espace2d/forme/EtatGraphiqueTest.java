@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Teste le filtrage des changements d'état des contextes graphiques.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class EtatGraphiqueTest {
+
+    /**
+     * Teste le partage de l'état graphique d'une toile.
+     */
+    @Test
+    public void testDe() {
+        final Canvas toile = new Canvas(10, 10);
+        assertSame(EtatGraphique.de(toile), EtatGraphique.de(toile));
+    }
+
+    /**
+     * Teste que seuls les changements d'état effectifs sont appliqués et que
+     * les changements sont comptés par image.
+     */
+    @Test
+    public void testChangements() {
+        final Canvas toile = new Canvas(10, 10);
+        final EtatGraphique etat = EtatGraphique.de(toile);
+        etat.definirTrait(Color.RED, 2);
+        etat.definirTrait(Color.RED, 2);
+        assertEquals(2, etat.getChangementsEffectues());
+        assertEquals(2, etat.getChangementsEvites());
+        assertEquals(Color.RED, toile.getGraphicsContext2D().getStroke());
+        assertEquals(2, toile.getGraphicsContext2D().getLineWidth(), 0);
+        etat.commencerImage();
+        etat.definirRemplissage(toile.getGraphicsContext2D().getFill());
+        etat.definirTirets();
+        etat.definirTirets(4, 2);
+        etat.definirTirets(4, 2);
+        assertEquals(1, etat.getChangementsEffectues());
+        assertEquals(3, etat.getChangementsEvites());
+        toile.getGraphicsContext2D().setStroke(Color.BLUE);
+        etat.definirTrait(Color.RED, 2);
+        assertEquals(Color.RED, toile.getGraphicsContext2D().getStroke());
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import com.sun.istack.internal.NotNull;
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.Repere;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Mesure le temps de rendu d'une image d'une grille secondaire très dézoomée,
+ * comptant des centaines de lignes, tracée en un seul chemin par rapport au
+ * tracé d'une commande par ligne. Chaque image est forcée à être rendue par
+ * une capture de la toile, de telle sorte que le temps mesuré comprenne le
+ * traitement du tampon de commandes par Prism. Les temps mesurés sont
+ * journalisés.
+ * <p>
+ * La mesure requiert un affichage pour démarrer JavaFX. Elle est ignorée
+ * dans un environnement sans affichage.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class GrilleTempsImageTest {
+
+    /**
+     * Le journal de la mesure.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+            GrilleTempsImageTest.class);
+
+    /**
+     * La largeur de la toile de mesure, exprimée en pixels.
+     */
+    private static final int LARGEUR = 3840;
+
+    /**
+     * La hauteur de la toile de mesure, exprimée en pixels.
+     */
+    private static final int HAUTEUR = 2160;
+
+    /**
+     * L'espacement minimal des graduations de la grille secondaire, exprimé
+     * en pixels.
+     */
+    private static final double ESPACEMENT = 10;
+
+    /**
+     * Le nombre d'images rendues avant le début de la mesure.
+     */
+    private static final int IMAGES_ECHAUFFEMENT = 50;
+
+    /**
+     * Le nombre d'images rendues pendant la mesure.
+     */
+    private static final int IMAGES_MESUREES = 200;
+
+    /**
+     * Le délai maximal de la mesure, exprimé en secondes.
+     */
+    private static final long DELAI = 300;
+
+    /**
+     * Démarre JavaFX si un affichage est disponible.
+     */
+    @BeforeClass
+    public static void demarrer() {
+        assumeFalse(GraphicsEnvironment.isHeadless());
+        new JFXPanel();
+        Platform.setImplicitExit(false);
+    }
+
+    /**
+     * Compare le temps moyen de rendu d'une image de la grille tracée ligne
+     * par ligne et tracée en un seul chemin.
+     *
+     * @throws InterruptedException si la mesure est interrompue.
+     */
+    @Test
+    public void testTempsImage() throws InterruptedException {
+        final CountDownLatch fin = new CountDownLatch(1);
+        final AtomicReference<double[]> temps = new AtomicReference<>();
+        Platform.runLater(() -> {
+            try {
+                temps.set(mesurer());
+            } finally {
+                fin.countDown();
+            }
+        });
+        assertTrue(fin.await(DELAI, TimeUnit.SECONDS));
+        assertTrue(temps.get() != null);
+        assertTrue(temps.get()[0] > 0 && temps.get()[1] > 0);
+    }
+
+    /**
+     * Mesure les deux tracés de la grille sur le fil d'application JavaFX.
+     *
+     * @return le temps moyen d'une image tracée ligne par ligne, puis celui
+     * d'une image tracée en un seul chemin, exprimés en millisecondes.
+     */
+    private static double[] mesurer() {
+        final Canvas toile = new Canvas(LARGEUR, HAUTEUR);
+        final Repere repere = new Repere(
+                new Vector2D(LARGEUR / 2, HAUTEUR / 2), new Vector2D(1, 1));
+        final Grille grille = new Grille(new Vector2D(ESPACEMENT, ESPACEMENT),
+                Color.gray(0.9));
+        final double[] horizontales = repere.graduationsHorizontales(HAUTEUR,
+                ESPACEMENT);
+        final double[] verticales = repere.graduationsVerticales(LARGEUR,
+                ESPACEMENT);
+        final double ligneParLigne = mesurer(toile, () -> {
+            dessinerLigneParLigne(toile, horizontales, verticales);
+        });
+        final double cheminUnique = mesurer(toile, () -> {
+            grille.dessinerNormal(toile, repere);
+        });
+        LOGGER.info(String.format("%d lignes de grille par image : "
+                + "%.3f ms par image ligne par ligne, %.3f ms par image en "
+                + "un seul chemin", horizontales.length + verticales.length,
+                ligneParLigne, cheminUnique));
+        return new double[]{ligneParLigne, cheminUnique};
+    }
+
+    /**
+     * Mesure le temps moyen de rendu d'une image.
+     *
+     * @param toile la toile de mesure.
+     * @param dessin le dessin d'une image sur la toile.
+     * @return le temps moyen de rendu d'une image, exprimé en millisecondes.
+     */
+    private static double mesurer(@NotNull final Canvas toile,
+            @NotNull final Runnable dessin) {
+        for (int i = 0; i < IMAGES_ECHAUFFEMENT; i++) {
+            rendre(toile, dessin);
+        }
+        final long debut = System.nanoTime();
+        for (int i = 0; i < IMAGES_MESUREES; i++) {
+            rendre(toile, dessin);
+        }
+        return (System.nanoTime() - debut) / 1e6 / IMAGES_MESUREES;
+    }
+
+    /**
+     * Rend une image sur la toile.
+     *
+     * @param toile la toile de mesure.
+     * @param dessin le dessin de l'image.
+     */
+    private static void rendre(@NotNull final Canvas toile,
+            @NotNull final Runnable dessin) {
+        toile.getGraphicsContext2D().clearRect(0, 0, LARGEUR, HAUTEUR);
+        dessin.run();
+        toile.snapshot(null, null);
+    }
+
+    /**
+     * Dessine la grille de référence avec une commande de tracé par ligne.
+     *
+     * @param toile la toile de mesure.
+     * @param horizontales les graduations horizontales.
+     * @param verticales les graduations verticales.
+     */
+    private static void dessinerLigneParLigne(@NotNull final Canvas toile,
+            @NotNull final double[] horizontales,
+            @NotNull final double[] verticales) {
+        final GraphicsContext contexteGraphique = toile.getGraphicsContext2D();
+        contexteGraphique.setStroke(Color.gray(0.9));
+        contexteGraphique.setLineWidth(1);
+        for (final double y : horizontales) {
+            contexteGraphique.strokeLine(0, y, LARGEUR, y);
+        }
+        for (final double x : verticales) {
+            contexteGraphique.strokeLine(x, 0, x, HAUTEUR);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.paint.Color;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.Repere;
+import org.graphysica.espace2d.rendu.ListeAffichage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste le dessin d'une grille.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class GrilleTest {
+
+    /**
+     * L'incertitude sur les comparaison de valeurs <code>double</code>.
+     */
+    private static final double DELTA = 1e-8;
+
+    /**
+     * Teste que l'ensemble des lignes d'une grille secondaire très dézoomée
+     * est enregistré dans un seul chemin, à raison d'un sous-chemin par
+     * graduation traversant toute la toile, et que l'état du trait n'est
+     * défini qu'une fois par dessin.
+     */
+    @Test
+    public void testCheminUnique() {
+        final Canvas toile = new Canvas(3840, 2160);
+        final Repere repere = new Repere(new Vector2D(1920, 1080),
+                new Vector2D(1, 1));
+        final Grille grille = new Grille(new Vector2D(10, 10),
+                Color.gray(0.9));
+        final double[] horizontales = repere.graduationsHorizontales(
+                toile.getHeight(), 10);
+        final double[] verticales = repere.graduationsVerticales(
+                toile.getWidth(), 10);
+        final int lignes = horizontales.length + verticales.length;
+        assertTrue(lignes > 100);
+        final EtatGraphique etat = EtatGraphique.de(toile);
+        for (int i = 0; i < 2; i++) {
+            etat.commencerImage();
+            grille.dessinerNormal(toile, repere);
+            assertEquals(2, etat.getChangementsEffectues()
+                    + etat.getChangementsEvites());
+        }
+        assertEquals(0, etat.getChangementsEffectues());
+        final ListeAffichage chemin = grille.getChemin();
+        assertEquals(lignes, chemin.getNombreSousChemins());
+        assertEquals(2 * lignes, chemin.getNombrePoints());
+        for (int i = 0; i < horizontales.length; i++) {
+            assertEquals(0, chemin.getAbscisse(2 * i), DELTA);
+            assertEquals(toile.getWidth(), chemin.getAbscisse(2 * i + 1),
+                    DELTA);
+            assertEquals(horizontales[i], chemin.getOrdonnee(2 * i), DELTA);
+            assertEquals(horizontales[i], chemin.getOrdonnee(2 * i + 1),
+                    DELTA);
+        }
+        for (int i = 0; i < verticales.length; i++) {
+            final int point = 2 * (horizontales.length + i);
+            assertEquals(verticales[i], chemin.getAbscisse(point), DELTA);
+            assertEquals(verticales[i], chemin.getAbscisse(point + 1), DELTA);
+            assertEquals(0, chemin.getOrdonnee(point), DELTA);
+            assertEquals(toile.getHeight(), chemin.getOrdonnee(point + 1),
+                    DELTA);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste la détermination des niveaux de détail selon la densité de formes.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class NiveauDetailTest {
+
+    /**
+     * L'aire d'une toile d'un mégapixel.
+     */
+    private static final double AIRE = 1e6;
+
+    /**
+     * Teste le niveau de détail selon le nombre de formes d'une toile d'un
+     * mégapixel.
+     */
+    @Test
+    public void testSelon() {
+        assertEquals(NiveauDetail.COMPLET, NiveauDetail.selon(0, AIRE));
+        assertEquals(NiveauDetail.COMPLET, NiveauDetail.selon(1500, AIRE));
+        assertEquals(NiveauDetail.REDUIT, NiveauDetail.selon(1501, AIRE));
+        assertEquals(NiveauDetail.MINIMAL, NiveauDetail.selon(5001, AIRE));
+        assertEquals(NiveauDetail.MINIMAL, NiveauDetail.selon(1501,
+                AIRE / 4));
+        assertEquals(NiveauDetail.COMPLET, NiveauDetail.selon(1000, 0));
+    }
+
+    /**
+     * Teste les détails dessinés à chaque niveau de détail.
+     */
+    @Test
+    public void testDetails() {
+        assertTrue(NiveauDetail.COMPLET.isEtiquettesAffichees());
+        assertFalse(NiveauDetail.REDUIT.isEtiquettesAffichees());
+        assertTrue(NiveauDetail.REDUIT.isBorduresAffichees());
+        assertFalse(NiveauDetail.MINIMAL.isBorduresAffichees());
+        assertFalse(NiveauDetail.COMPLET.isSegmentReduit(0.5));
+        assertTrue(NiveauDetail.REDUIT.isSegmentReduit(0.5));
+        assertFalse(NiveauDetail.REDUIT.isSegmentReduit(2));
+    }
+
+}
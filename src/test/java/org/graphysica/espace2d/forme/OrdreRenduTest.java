@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.forme;
+
+import javafx.beans.property.SimpleObjectProperty;
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.position.PositionReelle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Teste les indices de rendu des formes.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class OrdreRenduTest {
+
+    /**
+     * Un point centré à l'origine réelle.
+     */
+    private static final Point POINT = new Point(
+            new SimpleObjectProperty<>(new PositionReelle(Vector2D.ZERO)));
+
+    /**
+     * Un segment de droite reliant les points réels (0,0) et (1,0).
+     */
+    private static final SegmentDroite SEGMENT = new SegmentDroite(
+            new SimpleObjectProperty<>(new PositionReelle(Vector2D.ZERO)),
+            new SimpleObjectProperty<>(new PositionReelle(new Vector2D(1, 0))));
+
+    /**
+     * Teste l'indice de rendu des formes selon l'ordre de rendu par défaut.
+     */
+    @Test
+    public void testIndice() {
+        final OrdreRendu ordreRendu = new OrdreRendu();
+        assertEquals(1, ordreRendu.indice(new AxeVertical(100)));
+        assertEquals(4, ordreRendu.indice(SEGMENT));
+        assertEquals(5, ordreRendu.indice(POINT));
+        assertEquals(5, ordreRendu.indice(POINT));
+    }
+
+    /**
+     * Teste l'indice de rendu des formes après la modification de l'ordre de
+     * rendu.
+     */
+    @Test
+    public void testIndiceOrdreModifie() {
+        final OrdreRendu ordreRendu = new OrdreRendu();
+        assertEquals(5, ordreRendu.indice(POINT));
+        ordreRendu.remove(Point.class);
+        assertEquals(-1, ordreRendu.indice(POINT));
+        ordreRendu.add(Point.class);
+        assertEquals(6, ordreRendu.indice(POINT));
+        ordreRendu.clear();
+        assertEquals(-1, ordreRendu.indice(SEGMENT));
+    }
+
+    /**
+     * Teste l'indice de rendu des formes après des retraits qui passent par
+     * l'itérateur de l'ordre de rendu.
+     */
+    @Test
+    public void testIndiceRetraitsIterateur() {
+        final OrdreRendu ordreRendu = new OrdreRendu();
+        assertEquals(4, ordreRendu.indice(SEGMENT));
+        ordreRendu.removeAll(Arrays.asList(Grille.class, Axe.class));
+        assertEquals(2, ordreRendu.indice(SEGMENT));
+        ordreRendu.removeIf(classe -> classe == Polygone.class);
+        assertEquals(1, ordreRendu.indice(SEGMENT));
+        final Iterator<Class<? extends Forme>> iterateur = ordreRendu
+                .iterator();
+        iterateur.next();
+        iterateur.remove();
+        assertEquals(0, ordreRendu.indice(SEGMENT));
+        assertEquals(1, ordreRendu.indice(POINT));
+        ordreRendu.retainAll(Collections.singleton(Point.class));
+        assertEquals(-1, ordreRendu.indice(SEGMENT));
+        assertEquals(0, ordreRendu.indice(POINT));
+    }
+
+}
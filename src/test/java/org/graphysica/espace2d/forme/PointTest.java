@@ -17,10 +17,14 @@
 package org.graphysica.espace2d.forme;
 
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.Repere;
 import org.graphysica.espace2d.position.PositionReelle;
 import org.graphysica.espace2d.position.PositionVirtuelle;
 import static org.junit.Assert.assertEquals;
+import org.junit.Test;
 
 /**
  * Teste les représentations graphiques de points.
@@ -73,4 +77,48 @@ public class PointTest extends FormeTest {
                         new Vector2D(-1, -1)), REPERE), DELTA);
     }
 
+    /**
+     * Teste les limites virtuelles du point.
+     */
+    @Test
+    public void testLimites() {
+        final Rectangle2D limites = ORIGINE_REELLE.limites(
+                new Canvas(1000, 1000), REPERE);
+        final double rayon = ORIGINE_REELLE.getTaille() + 1;
+        assertEquals(ORIGINE_VIRTUELLE.getX() - rayon, limites.getMinX(),
+                DELTA);
+        assertEquals(ORIGINE_VIRTUELLE.getY() - rayon, limites.getMinY(),
+                DELTA);
+        assertEquals(2 * rayon, limites.getWidth(), DELTA);
+        assertEquals(2 * rayon, limites.getHeight(), DELTA);
+    }
+
+    /**
+     * Teste qu'un point dessiné dans deux espaces conserve un emplacement dans
+     * le tampon de positions de chacun de leurs repères, puis libère celui
+     * d'un repère sans toucher à l'autre.
+     */
+    @Test
+    public void testEmplacementsParRepere() {
+        final Point point = new Point(new SimpleObjectProperty<>(
+                new PositionReelle(new Vector2D(1, 1))));
+        final Repere repere1 = new Repere(new Vector2D(100, 100), ECHELLE);
+        final Repere repere2 = new Repere(new Vector2D(300, 200), ECHELLE);
+        final Canvas toile = new Canvas(1000, 1000);
+        final double rayon = point.getTaille() + 1;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(150 - rayon, point.limites(toile, repere1).getMinX(),
+                    DELTA);
+            assertEquals(350 - rayon, point.limites(toile, repere2).getMinX(),
+                    DELTA);
+        }
+        assertEquals(1, repere1.getTampon().reserver());
+        assertEquals(1, repere2.getTampon().reserver());
+        point.liberer(repere1);
+        assertEquals(0, repere1.getTampon().reserver());
+        assertEquals(2, repere2.getTampon().reserver());
+        assertEquals(350 - rayon, point.limites(toile, repere2).getMinX(),
+                DELTA);
+    }
+
 }
@@ -17,10 +17,14 @@
 package org.graphysica.espace2d.forme;
 
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
 import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
 import org.graphysica.espace2d.position.PositionReelle;
 import static org.graphysica.espace2d.position.Type.VIRTUELLE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import org.junit.Test;
 
 /**
  *
@@ -67,4 +71,21 @@ public class SegmentDroiteTest extends FormeTest {
                 new PositionReelle(new Vector2D(0.5, -1)), REPERE), DELTA);
     }
 
+    /**
+     * Teste les limites virtuelles du segment de droite.
+     */
+    @Test
+    public void testLimites() {
+        final Rectangle2D limites = SEGMENT.limites(new Canvas(1000, 1000),
+                REPERE);
+        final double demiEpaisseur = SEGMENT.getEpaisseur() / 2.0;
+        assertEquals(ORIGINE_VIRTUELLE.getX() - demiEpaisseur,
+                limites.getMinX(), DELTA);
+        assertEquals(ORIGINE_VIRTUELLE.getY() - demiEpaisseur,
+                limites.getMinY(), DELTA);
+        assertEquals(50 + 2 * demiEpaisseur, limites.getWidth(), DELTA);
+        assertEquals(2 * demiEpaisseur, limites.getHeight(), DELTA);
+        assertFalse(limites.intersects(new Rectangle2D(0, 0, 400, 400)));
+    }
+
 }
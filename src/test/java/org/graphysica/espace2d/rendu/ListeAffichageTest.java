@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.espace2d.rendu;
+
+import org.apache.commons.math3.geometry.euclidean.twod.Vector2D;
+import org.graphysica.espace2d.Repere;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste l'enregistrement et la transformation des listes d'affichage.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class ListeAffichageTest {
+
+    /**
+     * L'incertitude sur les comparaison de valeurs <code>double</code>.
+     */
+    private static final double DELTA = 1e-8;
+
+    /**
+     * Teste la transformation des points d'une liste d'affichage selon
+     * l'état actuel du repère.
+     */
+    @Test
+    public void testTransformation() {
+        final Repere repere = new Repere(new Vector2D(500, 500),
+                new Vector2D(50, 50));
+        final ListeAffichage liste = new ListeAffichage();
+        assertFalse(liste.isEnregistree());
+        liste.commencer();
+        for (int i = 0; i < 10; i++) {
+            liste.tracer(new Vector2D(i, -i));
+        }
+        assertTrue(liste.isEnregistree());
+        assertEquals(10, liste.getNombrePoints());
+        assertEquals(550, liste.abscisseVirtuelle(1, repere), DELTA);
+        assertEquals(550, liste.ordonneeVirtuelle(1, repere), DELTA);
+        repere.definir(new Vector2D(0, 0), new Vector2D(10, 10));
+        assertEquals(90, liste.abscisseVirtuelle(9, repere), DELTA);
+        assertEquals(90, liste.ordonneeVirtuelle(9, repere), DELTA);
+        liste.invalider();
+        assertFalse(liste.isEnregistree());
+        liste.commencer();
+        assertEquals(0, liste.getNombrePoints());
+    }
+
+}
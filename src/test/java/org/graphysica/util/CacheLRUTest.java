@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2018 Graphysica
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graphysica.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Teste les caches LRU.
+ *
+ * @author Marc-Antoine Ouimet
+ */
+public class CacheLRUTest {
+
+    /**
+     * Teste le retrait de l'entrée la moins récemment utilisée lorsque la
+     * capacité de la cache est dépassée.
+     */
+    @Test
+    public void testRetraitMoinsRecent() {
+        final CacheLRU<String, Integer> cache = new CacheLRU<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, (int) cache.get("a"));
+        cache.put("c", 3);
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+    }
+
+    /**
+     * Teste les statistiques de consultation de la cache.
+     */
+    @Test
+    public void testStatistiques() {
+        final CacheLRU<String, Integer> cache = new CacheLRU<>(1);
+        assertEquals(null, cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(1, (int) cache.get("a"));
+        cache.put("b", 2);
+        assertEquals(1, cache.getSucces());
+        assertEquals(1, cache.getEchecs());
+        assertEquals(1, cache.getRetraits());
+        cache.reinitialiserStatistiques();
+        assertEquals(0, cache.getSucces());
+        assertEquals(0, cache.getEchecs());
+        assertEquals(0, cache.getRetraits());
+    }
+
+    /**
+     * Teste le retrait des entrées selon le poids de leurs valeurs.
+     */
+    @Test
+    public void testPonderation() {
+        final CacheLRU<String, int[]> cache = new CacheLRU<>(10,
+                (valeur) -> valeur.length);
+        cache.put("a", new int[4]);
+        cache.put("b", new int[4]);
+        assertEquals(8, cache.getPoids());
+        cache.put("c", new int[6]);
+        assertEquals(1, cache.getRetraits());
+        assertFalse(cache.containsKey("a"));
+        assertTrue(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(10, cache.getPoids());
+        cache.put("d", new int[20]);
+        assertEquals(3, cache.getRetraits());
+        assertEquals(1, cache.size());
+        assertEquals(20, cache.getPoids());
+        cache.remove("d");
+        assertEquals(0, cache.getPoids());
+    }
+
+    /**
+     * Teste la capacité par défaut d'une cache dont la capacité spécifiée est
+     * invalide.
+     */
+    @Test
+    public void testCapaciteInvalide() {
+        assertEquals(100, new CacheLRU<>(0).getCapacite());
+    }
+
+}